@@ -0,0 +1,69 @@
+package dungeonmania.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dungeonmania.EntityFactory;
+import dungeonmania.GameConfig;
+import dungeonmania.ReadJSONFiles;
+import dungeonmania.Battling.Battle;
+import dungeonmania.Entities.EntityType;
+import dungeonmania.Entities.Inventory;
+import dungeonmania.Entities.Moving.MovingEntity;
+import dungeonmania.Entities.Moving.Player;
+
+/**
+ * One battle between the player and each type of enemy, fought to the end, with and without a sword.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BattleBenchmark {
+    @Param({ "zombie_toast", "spider", "mercenary", "assassin", "hydra" })
+    public String enemyType;
+
+    @Param({ "false", "true" })
+    public boolean sword;
+
+    private GameConfig config;
+    private Player player;
+    private MovingEntity enemy;
+    private Inventory inventory;
+    private double playerHealth;
+    private double enemyHealth;
+
+    @Setup
+    public void setUp() {
+        config = ReadJSONFiles.readConfigFile("c_benchmark");
+        player = new Player(0, 0, config);
+        enemy = (MovingEntity) EntityFactory.createEntity(enemyType, 1, 0, 0, null, config, 0);
+        inventory = new Inventory();
+        playerHealth = player.getPlayerHealth();
+        enemyHealth = enemy.getEnemyHealth();
+    }
+
+    @Benchmark
+    public boolean doBattle() {
+        // swords wear out, so a fresh one is picked up before every battle
+        if (sword && inventory.getItem(EntityType.SWORD) == null)
+            inventory.addItem(EntityFactory.createEntity("sword", 0, 0, 0, null, config, 0));
+
+        player.setPlayerHealth(playerHealth);
+        enemy.setEnemyHealth(enemyHealth);
+        return new Battle(player, enemy).doBattle(config, inventory);
+    }
+}
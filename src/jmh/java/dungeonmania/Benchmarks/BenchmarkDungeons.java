@@ -0,0 +1,40 @@
+package dungeonmania.Benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import dungeonmania.Generation.DungeonGenerator;
+
+/**
+ * Writes the generated dungeons the benchmarks run on: square maps of the given size, walled around the edge,
+ * with scattered walls, mercenaries and zombie toast spawners, and the player in the middle.
+ *
+ * The jmh task runs this before the benchmarks, into a directory on their classpath, so the dungeons
+ * can be started by name like the shipped ones.
+ */
+public class BenchmarkDungeons {
+    public static final int[] SIZES = { 32, 64, 128, 256 };
+
+    private static final double WALL_DENSITY = 0.2;
+    private static final int TILES_PER_MERCENARY = 100;
+    private static final int TILES_PER_SPAWNER = 500;
+
+    public static String nameOf(int size) {
+        return "bench_grid_" + size;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args[0]);
+        Files.createDirectories(directory);
+
+        for (int size : SIZES) {
+            DungeonGenerator generator = new DungeonGenerator(size, size, size);
+            generator.setWallDensity(WALL_DENSITY);
+            generator.setCount("mercenary", size * size / TILES_PER_MERCENARY);
+            generator.setCount("zombie_toast_spawner", size * size / TILES_PER_SPAWNER);
+            generator.writeTo(directory.resolve(nameOf(size) + ".json"));
+        }
+    }
+}
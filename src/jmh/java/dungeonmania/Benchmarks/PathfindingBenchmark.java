@@ -0,0 +1,87 @@
+package dungeonmania.Benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import dungeonmania.DungeonManiaController;
+import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
+import dungeonmania.Entities.EntityType;
+import dungeonmania.Entities.Moving.Mercenary;
+import dungeonmania.Entities.Moving.Player;
+import dungeonmania.Pathfinding.FlowFields;
+import dungeonmania.util.Position;
+
+/**
+ * The mercenaries' path finding: every mercenary on the map asking for its next step towards the player,
+ * with the distance fields built from scratch, and with them kept and repaired as the player steps back and forth.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathfindingBenchmark {
+    @Param({ "mercenary", "maze", "bench_grid_32", "bench_grid_128", "bench_grid_256" })
+    public String dungeon;
+
+    private EntityList listOfEntities;
+    private List<Entity> mercenaries;
+    private Position[] goals;
+    private FlowFields flowFields;
+    private int step;
+
+    @Setup
+    public void startGame() {
+        DungeonManiaController game = new DungeonManiaController();
+        game.startGame(dungeon, "c_benchmark", 1L);
+        listOfEntities = game.getListOfEntities();
+        mercenaries = listOfEntities.getEntitiesOfType(EntityType.MERCENARY);
+
+        // the player's tile and the first neighbouring tile it could step onto, so the goal always moves a step
+        Player player = game.getPlayer();
+        Position start = player.getCurrentLocation();
+        Position next = start;
+        for (Position neighbour : start.getCardinallyAdjacentPositions()) {
+            if (player.canStepOnAll(listOfEntities, neighbour)) {
+                next = neighbour;
+                break;
+            }
+        }
+        goals = new Position[] { start, next };
+
+        flowFields = new FlowFields(listOfEntities, start);
+        listOfEntities.takeChangedTiles();
+    }
+
+    @Benchmark
+    public void builtEachTick(Blackhole blackhole) {
+        FlowFields fresh = new FlowFields(listOfEntities, goals[0]);
+        for (Entity mercenary : mercenaries) {
+            blackhole.consume(fresh.getField((Mercenary) mercenary).nextStepFrom(mercenary.getCurrentLocation()));
+        }
+    }
+
+    @Benchmark
+    public void repairedEachTick(Blackhole blackhole) {
+        step ^= 1;
+        flowFields.update(goals[step]);
+        for (Entity mercenary : mercenaries) {
+            blackhole.consume(flowFields.getField((Mercenary) mercenary).nextStepFrom(mercenary.getCurrentLocation()));
+        }
+    }
+}
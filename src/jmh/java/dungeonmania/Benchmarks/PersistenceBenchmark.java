@@ -0,0 +1,79 @@
+package dungeonmania.Benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dungeonmania.DungeonManiaController;
+import dungeonmania.SaveStore;
+import dungeonmania.response.models.DungeonResponse;
+import dungeonmania.util.Direction;
+
+/**
+ * Saving and loading a game a few ticks in, through the controller and the save store.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+    private static final int TICKS_BEFORE_SAVING = 10;
+
+    @Param({ "maze", "advanced", "bench_grid_32", "bench_grid_128" })
+    public String dungeon;
+
+    private DungeonManiaController game;
+    private String saveName;
+
+    @Setup
+    public void startGame() {
+        game = new DungeonManiaController();
+        game.startGame(dungeon, "c_benchmark", 1L);
+        for (int tick = 0; tick < TICKS_BEFORE_SAVING; tick++) {
+            game.advance(tick % 2 == 0 ? Direction.LEFT : Direction.RIGHT);
+        }
+
+        saveName = "jmh_" + dungeon;
+        game.saveGame(saveName);
+    }
+
+    @TearDown
+    public void deleteSave() {
+        try {
+            SaveStore.getDefault().remove(saveName);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Benchmark
+    public DungeonResponse saveGame() {
+        return game.saveGame(saveName);
+    }
+
+    // Nothing is played between autosaves, so this is the cost of adding a tick log, plus a whole game every so often.
+    @Benchmark
+    public DungeonResponse autosaveGame() {
+        return game.autosaveGame(saveName);
+    }
+
+    @Benchmark
+    public DungeonResponse loadGame() {
+        return new DungeonManiaController().loadGame(saveName);
+    }
+}
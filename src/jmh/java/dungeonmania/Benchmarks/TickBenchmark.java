@@ -0,0 +1,70 @@
+package dungeonmania.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dungeonmania.DungeonManiaController;
+import dungeonmania.response.models.DungeonDeltaResponse;
+import dungeonmania.response.models.DungeonResponse;
+import dungeonmania.util.Direction;
+
+/**
+ * One movement tick, building the full response, only a delta or no response at all, on the shipped dungeons and the generated grids.
+ *
+ * The player walks left and right on the spot, and can't die under the benchmark config, so every tick is legal.
+ * Each iteration starts a new game from the same seed, so zombies and spiders build up the same way in every iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TickBenchmark {
+    @Param({ "maze", "advanced", "zombies", "mercenary", "portals_advanced", "bench_grid_32", "bench_grid_64", "bench_grid_128" })
+    public String dungeon;
+
+    private DungeonManiaController game;
+    private boolean left;
+    private long deltaSequence;
+
+    @Setup(Level.Iteration)
+    public void startGame() {
+        game = new DungeonManiaController();
+        game.startGame(dungeon, "c_benchmark", 1L);
+        deltaSequence = game.getDungeonDelta(0).getSequence();
+    }
+
+    @Benchmark
+    public DungeonResponse tick() {
+        left = !left;
+        return game.tick(left ? Direction.LEFT : Direction.RIGHT);
+    }
+
+    @Benchmark
+    public DungeonDeltaResponse tickDelta() {
+        left = !left;
+        DungeonDeltaResponse delta = game.tickDelta(left ? Direction.LEFT : Direction.RIGHT, deltaSequence);
+        deltaSequence = delta.getSequence();
+        return delta;
+    }
+
+    @Benchmark
+    public int advance() {
+        left = !left;
+        game.advance(left ? Direction.LEFT : Direction.RIGHT);
+        return game.getTickCount();
+    }
+}
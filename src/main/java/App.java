@@ -1,16 +1,22 @@
 import spark.Request;
+import spark.Route;
 import spark.Spark;
 import spark.servlet.SparkApplication;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
 import dungeonmania.DungeonManiaController;
+import dungeonmania.SaveStore;
+import dungeonmania.SessionRegistry;
+import dungeonmania.TemplateCache;
+import dungeonmania.Metrics.TickMetrics;
 import dungeonmania.exceptions.InvalidActionException;
+import dungeonmania.response.JsonResponses;
 import dungeonmania.response.models.GenericResponseWrapper;
 import dungeonmania.util.Direction;
+import dungeonmania.util.ResourceCatalog;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -32,23 +38,9 @@ public class App implements SparkApplication {
             super(message);
         }
     }
-    private static volatile Map<String, DungeonManiaController> sessionStates = new HashMap<>();
-
-    private static synchronized DungeonManiaController getDungeonManiaController(Request request) {
-        String session = request.session().id();
-        if (session == null) {
-            System.out.println("No Session Found... using default.");
-            session = "__DEFAULT_SESSION__";
-        }
-
-        if (sessionStates.containsKey(session)) {
-            return sessionStates.get(session);
-        } else {
-            DungeonManiaController bc = new DungeonManiaController();
-            sessionStates.put(session, bc);
-            return bc;
-        }
-    }
+    // games idle for ten minutes leave the heap for disk, and sessions idle for a day are dropped
+    private static final SessionRegistry sessions = SessionRegistry.passivatingTo(
+        Paths.get(SaveStore.SAVES_DIRECTORY, "sessions"), 1000, Duration.ofMinutes(10), Duration.ofDays(1));
 
     private static<T> GenericResponseWrapper<T> callWithWrapper(Supplier<T> runnable) {
         try {
@@ -61,49 +53,72 @@ public class App implements SparkApplication {
 
     private static<T> GenericResponseWrapper<T> callUsingSessionAndArgument(Request request, Function<DungeonManiaController, T> runnable) {
         try {
-            DungeonManiaController dmc = getDungeonManiaController(request);
-            synchronized (dmc) {
-                return GenericResponseWrapper.Ok(runnable.apply(dmc));
+            String session = request.session().id();
+            if (session == null) {
+                System.out.println("No Session Found... using default.");
             }
+            return GenericResponseWrapper.Ok(sessions.call(session, runnable));
         } catch (Exception e) {
             e.printStackTrace();
             return GenericResponseWrapper.Err(e);
         }
     }
 
+    // Streams whatever the route returns to the client as JSON, rather than building it as a String first.
+    private static Route streamed(Route route) {
+        return (request, response) -> {
+            Object body = route.handle(request, response);
+            response.type("application/json");
+            JsonResponses.write(body, response.raw().getOutputStream());
+            return "";
+        };
+    }
+
+    // The sequence number of the last delta the client has, or 0 (or nothing) for a snapshot.
+    private static long sinceParam(Request request) {
+        String since = request.queryParams("since");
+        return since == null ? 0 : Long.parseLong(since);
+    }
+
     @Override
     public void init() {
         Scintilla.initialize(); 
-        GsonBuilder gsonBuilder = new GsonBuilder();
 
-        Gson gson = gsonBuilder.create();
-        Object globalLock = new Object();
+        // the menus list these, and listing them the first time scans the classpath
+        ResourceCatalog.load("dungeons", "configs");
 
-        Spark.after((request, response) -> {
+        sessions.startEvicting(Duration.ofMinutes(1));
+
+        // while working on dungeons and configs, games started after one is edited are started with the edited one
+        if (System.getenv("DUNGEONMANIA_WATCH_RESOURCES") != null) {
+            try {
+                TemplateCache.watchResources();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        // before rather than after the route, as the body is streamed out and the headers go first
+        Spark.before((request, response) -> {
             response.header("Access-Control-Allow-Origin", "*");
             response.header("Access-Control-Allow-Methods", "*");
             response.header("Access-Control-Allow-Headers", "*");
         });
 
-        Spark.get("/api/dungeons/", "application/json", (request, response) -> {
-            // we don't *need* to globally lock this but we might as well just to keep a nice standard.
-            synchronized (globalLock) {
-                return callWithWrapper(() -> DungeonManiaController.dungeons());
-            }
-        }, gson::toJson);
+        // the listings are kept by the ResourceCatalog and never changed, so reading them needs no lock
+        Spark.get("/api/dungeons/", "application/json", streamed((request, response) -> {
+            return callWithWrapper(() -> DungeonManiaController.dungeons());
+        }));
 
-        Spark.get("/api/configs/", "application/json", (request, response) -> {
-            // we don't *need* to globally lock this but we might as well just to keep a nice standard.
-            synchronized (globalLock) {
-                return callWithWrapper(() -> DungeonManiaController.configs());
-            }
-        }, gson::toJson);
+        Spark.get("/api/configs/", "application/json", streamed((request, response) -> {
+            return callWithWrapper(() -> DungeonManiaController.configs());
+        }));
 
-        Spark.post("/api/game/new/", "application/json", (request, response) -> {
+        Spark.post("/api/game/new/", "application/json", streamed((request, response) -> {
             return callUsingSessionAndArgument(request, (dmc) -> dmc.newGame(request.queryParams("dungeonName"), request.queryParams("configName")));
-        }, gson::toJson);
+        }));
 
-        Spark.post("/api/game/tick/item/", "application/json", (request, response) -> {
+        Spark.post("/api/game/tick/item/", "application/json", streamed((request, response) -> {
             return callUsingSessionAndArgument(request, (dmc) -> {
                 try {
                     return dmc.tick(request.queryParams("itemUsed"));
@@ -111,13 +126,31 @@ public class App implements SparkApplication {
                     throw new InvalidActionExceptionAPI(e.getMessage());
                 }
             });
-        }, gson::toJson);
+        }));
 
-        Spark.post("/api/game/tick/movement/", "application/json", (request, response) -> {
+        Spark.post("/api/game/tick/movement/", "application/json", streamed((request, response) -> {
             return callUsingSessionAndArgument(request, (dmc) -> dmc.tick(Direction.valueOf(request.queryParams("movementDirection").toUpperCase())));
-        }, gson::toJson);
+        }));
+
+        Spark.post("/api/game/tick/item/delta/", "application/json", streamed((request, response) -> {
+            return callUsingSessionAndArgument(request, (dmc) -> {
+                try {
+                    return dmc.tickDelta(request.queryParams("itemUsed"), sinceParam(request));
+                } catch (InvalidActionException e) {
+                    throw new InvalidActionExceptionAPI(e.getMessage());
+                }
+            });
+        }));
+
+        Spark.post("/api/game/tick/movement/delta/", "application/json", streamed((request, response) -> {
+            return callUsingSessionAndArgument(request, (dmc) -> dmc.tickDelta(Direction.valueOf(request.queryParams("movementDirection").toUpperCase()), sinceParam(request)));
+        }));
 
-        Spark.post("/api/game/build/", "application/json", (request, response) -> {
+        Spark.post("/api/game/dungeonDelta/", "application/json", streamed((request, response) -> {
+            return callUsingSessionAndArgument(request, (dmc) -> dmc.getDungeonDelta(sinceParam(request)));
+        }));
+
+        Spark.post("/api/game/build/", "application/json", streamed((request, response) -> {
             return callUsingSessionAndArgument(request, (dmc) -> {
                 try {
                     return dmc.build(request.queryParams("buildable"));
@@ -125,17 +158,17 @@ public class App implements SparkApplication {
                     throw new InvalidActionExceptionAPI(e.getMessage());
                 }
             });
-        }, gson::toJson);
+        }));
 
-        Spark.get("/api/skin/current/", "application/json", (request, response) -> {
+        Spark.get("/api/skin/current/", "application/json", streamed((request, response) -> {
             return callUsingSessionAndArgument(request, (dmc) -> dmc.getSkin());
-        }, gson::toJson);
+        }));
 
-        Spark.get("/api/localisation/current/", "application/json", (request, response) -> {
+        Spark.get("/api/localisation/current/", "application/json", streamed((request, response) -> {
             return callUsingSessionAndArgument(request, (dmc) -> dmc.getLocalisation());
-        }, gson::toJson);
+        }));
 
-        Spark.post("/api/game/interact/", "application/json", (request, response) -> {
+        Spark.post("/api/game/interact/", "application/json", streamed((request, response) -> {
             return callUsingSessionAndArgument(request, (dmc) -> {
                 try {
                     return dmc.interact(request.queryParams("entityId"));
@@ -143,23 +176,36 @@ public class App implements SparkApplication {
                     throw new InvalidActionExceptionAPI(e.getMessage());
                 }
             });
-        }, gson::toJson);
+        }));
 
-        Spark.post("/api/game/dungeonResponseModel/", "application/json", (request, response) -> {
+        Spark.post("/api/game/dungeonResponseModel/", "application/json", streamed((request, response) -> {
             return callUsingSessionAndArgument(request, (dmc) -> dmc.getDungeonResponseModel());
-        }, gson::toJson);
+        }));
 
-        Spark.post("api/game/save/", "application/json", (request, response) -> {
+        Spark.post("api/game/save/", "application/json", streamed((request, response) -> {
             return callUsingSessionAndArgument(request, (dmc) -> dmc.saveGame(request.queryParams("name")));
-        }, gson::toJson);
+        }));
+
+        Spark.get("api/game/save/status/", "application/json", streamed((request, response) -> {
+            return callUsingSessionAndArgument(request, (dmc) -> dmc.getSaveStatus(request.queryParams("name")));
+        }));
 
-        Spark.post("api/game/load/", "application/json", (request, response) -> {
+        Spark.post("api/game/autosave/", "application/json", streamed((request, response) -> {
+            return callUsingSessionAndArgument(request, (dmc) -> dmc.autosaveGame(request.queryParams("name")));
+        }));
+
+        Spark.post("api/game/load/", "application/json", streamed((request, response) -> {
             return callUsingSessionAndArgument(request, (dmc) -> dmc.loadGame(request.queryParams("name")));
-        }, gson::toJson);
+        }));
 
-        Spark.get("api/games/all/", "application/json", (request, response) -> {
+        Spark.get("api/games/all/", "application/json", streamed((request, response) -> {
             return callUsingSessionAndArgument(request, (dmc) -> dmc.allGames());
-        }, gson::toJson);
+        }));
+
+        Spark.get("/api/metrics", (request, response) -> {
+            response.type("text/plain; version=0.0.4");
+            return TickMetrics.scrape();
+        });
 
         Scintilla.start();
     }
@@ -1,13 +1,18 @@
 package dungeonmania.Battling;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 
+import dungeonmania.GameConfig;
 import dungeonmania.Battling.PlayerBattleStrategy.BowBattlingStrategy;
 import dungeonmania.Battling.PlayerBattleStrategy.NoWeaponBattlingStrategy;
 import dungeonmania.Battling.PlayerBattleStrategy.SwordBattlingStrategy;
 import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityType;
 import dungeonmania.Entities.Inventory;
 import dungeonmania.Entities.Collectables.Sword;
 import dungeonmania.Entities.Moving.MovingEntity;
@@ -28,8 +33,44 @@ public class Battle implements Serializable {
         this.initEnemyHealth = enemy.getEnemyHealth();
     }
 
+    private Battle(Player player, MovingEntity enemy, double initPlayerHealth, double initEnemyHealth) {
+        this.enemy = enemy;
+        this.player = player;
+        this.initPlayerHealth = initPlayerHealth;
+        this.initEnemyHealth = initEnemyHealth;
+    }
+
+    /**
+     * Writes the starting healths and every round fought, for a save. The enemy is saved with the other entities.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeDouble(initPlayerHealth);
+        out.writeDouble(initEnemyHealth);
+        out.writeInt(rounds.size());
+        for (Round round : rounds) {
+            round.write(out);
+        }
+    }
+
+    /**
+     * Reads back a battle written by write, between the given player and the enemy saved alongside it.
+     */
+    public static Battle read(DataInput in, Player player, MovingEntity enemy) throws IOException {
+        Battle battle = new Battle(player, enemy, in.readDouble(), in.readDouble());
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            battle.rounds.add(Round.read(in));
+        }
+
+        return battle;
+    }
+
     /* Getters & Setters */
 
+    public MovingEntity getEnemy() {
+        return enemy;
+    }
+
     public String getEnemyType() {
         return enemy.getEntityType();
     }
@@ -49,9 +90,9 @@ public class Battle implements Serializable {
     /*
      * @returns true if player alive after battle, false otherwise.
      */
-    public boolean doBattle(HashMap<String, String> configMap, Inventory inventory) {
+    public boolean doBattle(GameConfig config, Inventory inventory) {
         ArrayList<HashMap<String, String>> weaponryUsed = getWeaponry(inventory);
-        boolean result = doRound(configMap, weaponryUsed, inventory); 
+        boolean result = doRound(config, weaponryUsed, inventory); 
 
         return result;
     }
@@ -59,9 +100,9 @@ public class Battle implements Serializable {
     /*
      * @returns true if player alive after round, false otherwise.
      */
-    public boolean doRound(HashMap<String, String> configMap, ArrayList<HashMap<String, String>> weaponryUsed, Inventory inventory) {
-        double player_attack = getPlayerAttack(configMap, weaponryUsed, inventory);
-        double player_defence = getPlayerDefence(configMap, inventory);
+    public boolean doRound(GameConfig config, ArrayList<HashMap<String, String>> weaponryUsed, Inventory inventory) {
+        double player_attack = getPlayerAttack(config, weaponryUsed, inventory);
+        double player_defence = getPlayerDefence(config, inventory);
         double enemy_attack = enemy.getEnemyDamage();
 
         double delta_player_health = - (enemy_attack - player_defence) / 10;    
@@ -81,14 +122,14 @@ public class Battle implements Serializable {
         } else if (enemy_hp <= 0) {
             return true;
         } else {
-            return doRound(configMap, weaponryUsed, inventory);
+            return doRound(config, weaponryUsed, inventory);
         }
     }
 
     private ArrayList<HashMap<String, String>> getWeaponry(Inventory inventory) {
         ArrayList<HashMap<String, String>> weaponryUsed = new ArrayList<HashMap<String, String>>();
 
-        Entity item = inventory.getItem("sword");
+        Entity item = inventory.getItem(EntityType.SWORD);
         if (item != null) {
             HashMap<String, String> itemInfo = new HashMap<>();
             itemInfo.put("id", item.getEntityID());
@@ -116,21 +157,21 @@ public class Battle implements Serializable {
         return weaponryUsed;
     }
 
-    private double getPlayerAttack(HashMap<String, String> configMap, ArrayList<HashMap<String, String>> weaponryUsed, Inventory inventory) {
+    private double getPlayerAttack(GameConfig config, ArrayList<HashMap<String, String>> weaponryUsed, Inventory inventory) {
         boolean swordExists = itemExists(weaponryUsed, "sword");
         boolean bowExists = itemExists(weaponryUsed, "bow");
         int allies = player.getAllies();
 
-        double atk = new NoWeaponBattlingStrategy(configMap).attackModifier();
+        double atk = new NoWeaponBattlingStrategy(config).attackModifier();
 
         if (swordExists) {
-            atk += new SwordBattlingStrategy(configMap).attackModifier();
+            atk += new SwordBattlingStrategy(config).attackModifier();
         }
         if (bowExists) {
-            atk *= new BowBattlingStrategy(configMap).attackModifier();
+            atk *= new BowBattlingStrategy(config).attackModifier();
         }
 
-        double ally_attack = Double.parseDouble(configMap.get("ally_attack"));
+        double ally_attack = config.getAllyAttack();
 
         for (int i = 0; i < allies; i++) {
             atk += ally_attack;
@@ -139,17 +180,17 @@ public class Battle implements Serializable {
         return atk;
     }
 
-    private double getPlayerDefence(HashMap<String, String> configMap, Inventory inventory) {
+    private double getPlayerDefence(GameConfig config, Inventory inventory) {
         double def = 0;
 
-        boolean shieldExists = inventory.itemExists("shield");
-        double shield_defence = Double.parseDouble(configMap.get("shield_defence"));
+        boolean shieldExists = inventory.itemExists(EntityType.SHIELD);
+        double shield_defence = config.getShieldDefence();
         if (shieldExists) {
             def += shield_defence;
         }
 
         int allies = player.getAllies();
-        double ally_defense = Double.parseDouble(configMap.get("ally_defence"));
+        double ally_defense = config.getAllyDefence();
         for (int i = 0; i < allies; i++) {
             def += ally_defense;
         }
@@ -1,10 +1,11 @@
 package dungeonmania.Battling.PlayerBattleStrategy;
 
-import java.util.HashMap;
+
+import dungeonmania.GameConfig;
 
 public class BowBattlingStrategy extends PlayerBattlingStrategy {
 
-    public BowBattlingStrategy(HashMap<String, String> configMap) {
+    public BowBattlingStrategy(GameConfig config) {
         super.setDamage(2);
     }
 
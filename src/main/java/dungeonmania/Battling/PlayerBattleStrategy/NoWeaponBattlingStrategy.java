@@ -1,11 +1,12 @@
 package dungeonmania.Battling.PlayerBattleStrategy;
 
-import java.util.HashMap;
+
+import dungeonmania.GameConfig;
 
 public class NoWeaponBattlingStrategy extends PlayerBattlingStrategy {
 
-    public NoWeaponBattlingStrategy(HashMap<String, String> configMap) {
-        super.setDamage(Double.parseDouble(configMap.get("player_attack")));
+    public NoWeaponBattlingStrategy(GameConfig config) {
+        super.setDamage(config.getPlayerAttack());
     }
 
     public double attackModifier() {
@@ -1,11 +1,12 @@
 package dungeonmania.Battling.PlayerBattleStrategy;
 
-import java.util.HashMap;
+
+import dungeonmania.GameConfig;
 
 public class SwordBattlingStrategy extends PlayerBattlingStrategy {
 
-    public SwordBattlingStrategy(HashMap<String, String> configMap) {
-        super.setDamage(Double.parseDouble(configMap.get("sword_attack")));
+    public SwordBattlingStrategy(GameConfig config) {
+        super.setDamage(config.getSwordAttack());
     }
 
     public double attackModifier() {
@@ -1,8 +1,13 @@
 package dungeonmania.Battling;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.HashMap;
+import java.util.Map;
 
 import dungeonmania.Entities.Entity;
 
@@ -29,4 +34,35 @@ public class Round implements Serializable {
     public List<HashMap<String, String>> getWeaponryUsed() {
         return weaponryUsed;
     }
+
+    public void write(DataOutput out) throws IOException {
+        out.writeDouble(deltaPlayerHealth);
+        out.writeDouble(deltaEnemyHealth);
+        out.writeInt(weaponryUsed.size());
+        for (HashMap<String, String> weapon : weaponryUsed) {
+            out.writeInt(weapon.size());
+            for (Map.Entry<String, String> entry : weapon.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeUTF(entry.getValue());
+            }
+        }
+    }
+
+    public static Round read(DataInput in) throws IOException {
+        double deltaPlayerHealth = in.readDouble();
+        double deltaEnemyHealth = in.readDouble();
+
+        int weapons = in.readInt();
+        List<HashMap<String, String>> weaponryUsed = new ArrayList<>(weapons);
+        for (int i = 0; i < weapons; i++) {
+            int entries = in.readInt();
+            HashMap<String, String> weapon = new HashMap<>();
+            for (int j = 0; j < entries; j++) {
+                weapon.put(in.readUTF(), in.readUTF());
+            }
+            weaponryUsed.add(weapon);
+        }
+
+        return new Round(deltaPlayerHealth, deltaEnemyHealth, weaponryUsed);
+    }
 }
@@ -2,6 +2,8 @@ package dungeonmania;
 
 import dungeonmania.Battling.Battle;
 import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
+import dungeonmania.Entities.EntityType;
 import dungeonmania.Entities.Inventory;
 import dungeonmania.Entities.Collectables.Bomb;
 import dungeonmania.Entities.Moving.Assassin;
@@ -13,23 +15,25 @@ import dungeonmania.Entities.Static.ZombieToastSpawner;
 import dungeonmania.Entities.Static.FloorSwitch;
 import dungeonmania.Entities.Static.Boulder;
 import dungeonmania.exceptions.InvalidActionException;
+import dungeonmania.Metrics.TickMetrics;
+import dungeonmania.Metrics.TickPhase;
+import dungeonmania.Pathfinding.FlowFields;
+import dungeonmania.Simulation.SimulationResult;
+import dungeonmania.Simulation.SimulationResult.Outcome;
 import dungeonmania.response.models.BattleResponse;
+import dungeonmania.response.models.DungeonDeltaResponse;
 import dungeonmania.response.models.DungeonResponse;
 import dungeonmania.response.models.EntityResponse;
 import dungeonmania.response.models.ItemResponse;
 import dungeonmania.response.models.RoundResponse;
 import dungeonmania.util.Direction;
-import dungeonmania.util.FileLoader;
+import dungeonmania.util.ResourceCatalog;
+import dungeonmania.util.GameRandom;
 import dungeonmania.util.Position;
 import dungeonmania.Helper;
 import javassist.bytecode.stackmap.BasicBlock.Catch;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
@@ -50,24 +54,42 @@ import com.google.gson.JsonParser;
 
 public class DungeonManiaController implements Serializable {
     private int tickCount;
-    private List<Entity> listOfEntities = new ArrayList<>();
-    private HashMap<String, String> configMap = new HashMap<>();
+    private EntityList listOfEntities = new EntityList();
+    private GameConfig config;
     private String dungeonId;
     private String dungeonName;
+    private String configName;
     private HashMap<String, Integer> mapOfMinAndMaxValues = new HashMap<>();
     private List<Battle> listOfBattles = new ArrayList<>();
     private List<String> buildables = new ArrayList<>();
     private Inventory inventory = new Inventory();
     private Statistics statistics;
 
-    public HashMap<String, String> getConfigMap() {
-        return configMap;
+    // Position isn't serializable, so the mercenaries' distance fields are rebuilt on the first tick after loading.
+    private transient FlowFields flowFields;
+
+    // The sequence number of the last delta sent, and how many battles it had sent by then.
+    // A new or loaded game has a fresh entity list that isn't tracking changes, so its first delta is a snapshot.
+    private transient long deltaSequence;
+    private transient int battlesSent;
+
+    // What has been played since the game was last saved, so the next autosave under the same name only adds that.
+    private transient TickLog tickLog;
+    private transient String autosaveName;
+    private transient int autosaveEvery;
+
+    public GameConfig getConfig() {
+        return config;
     }
 
     public String getDungeonId() {
         return dungeonId;
     }
 
+    public String getConfigName() {
+        return configName;
+    }
+
     public String getDungeonName() {
         return dungeonName;
     }
@@ -92,10 +114,15 @@ public class DungeonManiaController implements Serializable {
         return statistics;
     }
 
-    public List<Entity> getListOfEntities() {
+    public EntityList getListOfEntities() {
         return listOfEntities;
     }
 
+    // The seed every random choice in this game is drawn from.
+    public long getSeed() {
+        return listOfEntities.getRandom().getSeed();
+    }
+
     public int getTickCount() {
         return tickCount;
     }
@@ -117,34 +144,59 @@ public class DungeonManiaController implements Serializable {
      * /dungeons
      */
     public static List<String> dungeons() {
-        return FileLoader.listFileNamesInResourceDirectory("dungeons");
+        return ResourceCatalog.list("dungeons");
     }
 
     /**
      * /configs
      */
     public static List<String> configs() {
-        return FileLoader.listFileNamesInResourceDirectory("configs");
+        return ResourceCatalog.list("configs");
     }
 
     /**
      * /game/new
      */
     public DungeonResponse newGame(String dungeonName, String configName) throws IllegalArgumentException {
-        reintialisefields();
-        List<EntityResponse> listOfEntityResponses = new ArrayList<>();
+        return newGame(dungeonName, configName, null);
+    }
 
-        this.configMap = ReadJSONFiles.readConfigFile(configName);
-        this.statistics = ReadJSONFiles.readDungeonFileAndGetStats(dungeonName, configMap, listOfEntities, listOfEntityResponses);
+    /**
+     * Starts a new game whose random choices are all drawn from the given seed, so it can be replayed.
+     * A null seed uses the config's "seed" if it has one, otherwise a seed from the clock.
+     */
+    public DungeonResponse newGame(String dungeonName, String configName, Long seed) throws IllegalArgumentException {
+        List<EntityResponse> listOfEntityResponses = new ArrayList<>();
+        setUpGame(dungeonName, configName, seed, listOfEntityResponses);
 
         // TODO replace "buildables" with your actual buildables lists.
+        return new DungeonResponse(dungeonId, dungeonName, listOfEntityResponses,
+        Helper.getInventoryResponse(inventory), Helper.getBattleResponse(listOfBattles), buildables, getGoalsResponse());
+    }
+
+    /**
+     * Starts a new game like newGame(dungeonName, configName, seed), without building a response.
+     * Simulations that only want the outcome of a game drive it with startGame and advance.
+     */
+    public void startGame(String dungeonName, String configName, Long seed) throws IllegalArgumentException {
+        setUpGame(dungeonName, configName, seed, null);
+    }
+
+    // listOfEntityResponses is filled with a response for each entity in the dungeon file, unless it is null.
+    private void setUpGame(String dungeonName, String configName, Long seed, List<EntityResponse> listOfEntityResponses) {
+        reintialisefields();
+
+        this.config = TemplateCache.getConfig(configName);
+        if (seed == null)
+            seed = config.getSeed();
+
+        listOfEntities.setRandom(seed == null ? GameRandom.unseeded() : new GameRandom(seed));
+        this.statistics = TemplateCache.getDungeon(dungeonName).instantiate(config, listOfEntities, listOfEntityResponses);
+
         this.dungeonId = UUID.randomUUID().toString();
         this.dungeonName = dungeonName;
-        DungeonResponse dungeonResp = new DungeonResponse(dungeonId, dungeonName, listOfEntityResponses,
-        Helper.getInventoryResponse(inventory), Helper.getBattleResponse(listOfBattles), buildables, getGoalsResponse());
+        this.configName = configName;
         mapOfMinAndMaxValues = Helper.findMinAndMaxValues(listOfEntities);
-        
-        return dungeonResp;
     }
 
     private String getGoalsResponse() {
@@ -162,7 +214,14 @@ public class DungeonManiaController implements Serializable {
      * /game/tick/item
      */
     public DungeonResponse tick(String itemUsedId) throws IllegalArgumentException, InvalidActionException {
-        
+        advance(itemUsedId);
+        return createDungeonResponse();
+    }
+
+    /**
+     * Uses an item like tick(String), without building a response.
+     */
+    public void advance(String itemUsedId) throws IllegalArgumentException, InvalidActionException {
         Optional<Entity> itemInInv = inventory.getInventory().stream().filter(e -> e.getEntityID().startsWith(itemUsedId)).findFirst();
         // exception cases
         if (itemInInv.isEmpty()) {
@@ -172,63 +231,169 @@ public class DungeonManiaController implements Serializable {
         }
 
         Entity item = itemInInv.get();
+        long allocated = TickMetrics.allocatedBytes();
+        long time = System.nanoTime();
 
         // remove item from inventory
         inventory.removeItem(item);
 
-        if (item.getEntityType().equalsIgnoreCase("bomb")) {
+        if (item.getType() == EntityType.BOMB) {
             Bomb b = (Bomb) item;
             b.use(getPlayer(), listOfEntities, inventory);
         }
+        time = TickMetrics.record(TickPhase.USE_ITEM, time);
 
         Helper.checkBombs(listOfEntities, getPlayer());
-        setTickCount(getTickCount() + 1);
-        Helper.moveEnemy(configMap, getPlayer(), mapOfMinAndMaxValues, listOfEntities, null,
-        inventory, statistics, listOfBattles, tickCount);
+        time = TickMetrics.record(TickPhase.CHECK_BOMBS, time);
 
-        return createDungeonResponse();
+        setTickCount(getTickCount() + 1);
+        Helper.moveEnemy(config, getPlayer(), mapOfMinAndMaxValues, listOfEntities, null,
+        inventory, statistics, listOfBattles, tickCount, getFlowFields());
+        TickMetrics.record(TickPhase.MOVE_ENEMY, time);
+        TickMetrics.tickFinished(allocated, listOfEntities.size());
+
+        if (tickLog != null)
+            tickLog.useItem(item.getEntityID());
+        autosaveIfDue();
     }
 
     /**
      * /game/tick/movement
      */
     public DungeonResponse tick(Direction movementDirection) {
+        advance(movementDirection);
+        return createDungeonResponse();
+    }
+
+    /**
+     * Moves the player like tick(Direction), without building a response.
+     */
+    public void advance(Direction movementDirection) {
+        long allocated = TickMetrics.allocatedBytes();
+        long time = System.nanoTime();
         setTickCount(getTickCount() + 1);
 
         // Move player.
         Player player = getPlayer();
         player.setPrevPos(player.getCurrentLocation()); // a bribed mercenary occupies the player's previous position
         Helper.playerMovesBoulder(movementDirection, player, listOfEntities);
+        time = TickMetrics.record(TickPhase.PLAYER_MOVES_BOULDER, time);
         Helper.checkDoors(listOfEntities, movementDirection, inventory, player);
+        time = TickMetrics.record(TickPhase.CHECK_DOORS, time);
         player.move(listOfEntities, movementDirection, player, inventory, statistics); 
+        time = TickMetrics.record(TickPhase.PLAYER_MOVE, time);
         Helper.boulderCheck(listOfEntities, statistics);
-        Helper.checkBattles(player, configMap, inventory, listOfBattles, listOfEntities, statistics);
+        time = TickMetrics.record(TickPhase.BOULDER_CHECK, time);
+        Helper.checkBattles(player, config, inventory, listOfBattles, listOfEntities, statistics);
+        time = TickMetrics.record(TickPhase.CHECK_BATTLES, time);
         Helper.portalCheck(listOfEntities, player);
+        time = TickMetrics.record(TickPhase.PORTAL_CHECK, time);
 
-        Helper.moveEnemy(configMap, player, mapOfMinAndMaxValues, listOfEntities, movementDirection, inventory, statistics, 
-        listOfBattles, tickCount);
+        Helper.moveEnemy(config, player, mapOfMinAndMaxValues, listOfEntities, movementDirection, inventory, statistics, 
+        listOfBattles, tickCount, getFlowFields());
+        TickMetrics.record(TickPhase.MOVE_ENEMY, time);
+        TickMetrics.tickFinished(allocated, listOfEntities.size());
 
-        return createDungeonResponse();
+        if (tickLog != null)
+            tickLog.move(movementDirection);
+        autosaveIfDue();
+    }
+
+    /**
+     * /game/dungeonDelta
+     * @param since the sequence number of the last delta the client was sent, or 0 for a snapshot
+     * @returns the entities that changed since that delta, or a snapshot of every entity if the client missed one
+     */
+    public DungeonDeltaResponse getDungeonDelta(long since) {
+        long time = System.nanoTime();
+        boolean snapshot = since == 0 || since != deltaSequence || !listOfEntities.isTrackingEntityChanges();
+
+        List<EntityResponse> entities = new ArrayList<>();
+        List<String> removedEntities;
+        if (snapshot) {
+            listOfEntities.trackEntityChanges();
+            listOfEntities.forEach((currEntity) -> entities.add(createEntityResponse(currEntity)));
+            removedEntities = new ArrayList<>();
+            battlesSent = 0;
+        } else {
+            listOfEntities.takeChangedEntities().forEach((currEntity) -> entities.add(createEntityResponse(currEntity)));
+            removedEntities = listOfEntities.takeRemovedEntityIds();
+        }
+
+        List<Battle> newBattles = listOfBattles.subList(battlesSent, listOfBattles.size());
+        battlesSent = listOfBattles.size();
+        deltaSequence++;
+
+        DungeonDeltaResponse response = new DungeonDeltaResponse(dungeonId, dungeonName, deltaSequence, snapshot, entities, removedEntities,
+        Helper.getInventoryResponse(inventory), Helper.getBattleResponse(newBattles), buildables, getGoalsResponse(), Helper.getAnimations(listOfEntities));
+        TickMetrics.record(TickPhase.CREATE_RESPONSE, time);
+        return response;
+    }
+
+    /**
+     * /game/tick/movement/delta
+     */
+    public DungeonDeltaResponse tickDelta(Direction movementDirection, long since) {
+        advance(movementDirection);
+        return getDungeonDelta(since);
+    }
+
+    /**
+     * /game/tick/item/delta
+     */
+    public DungeonDeltaResponse tickDelta(String itemUsedId, long since) throws IllegalArgumentException, InvalidActionException {
+        advance(itemUsedId);
+        return getDungeonDelta(since);
+    }
+
+    /**
+     * @returns true once the player has died or every goal is complete. No more ticks can be played after the player dies.
+     */
+    public boolean isGameOver() {
+        return getPlayer() == null || statistics.isComplete();
+    }
+
+    /**
+     * @returns the outcome of the game so far, without building a response.
+     */
+    public SimulationResult getSimulationResult() {
+        Outcome outcome = Outcome.UNFINISHED;
+        if (getPlayer() == null)
+            outcome = Outcome.DIED;
+        else if (statistics.isComplete())
+            outcome = Outcome.WON;
+
+        return new SimulationResult(dungeonName, configName, getSeed(), outcome, tickCount, getGoalsResponse(), statistics);
+    }
+
+    // The distance fields are kept between ticks, and only repaired where the map has changed.
+    private FlowFields getFlowFields() {
+        if (flowFields == null) {
+            flowFields = new FlowFields(listOfEntities, getPlayer().getCurrentLocation());
+        }
+
+        return flowFields;
     }
 
     // Helper function that creates a new DungeonResponse because some entities can change positions. This new information needs to
     // be included in the listOfEntities and DungeonResponse.
     private DungeonResponse createDungeonResponse() {
+        long time = System.nanoTime();
         List<EntityResponse> entities = new ArrayList<>();
-        listOfEntities.forEach((currEntity) -> entities.add(new EntityResponse(currEntity.getEntityID(), currEntity.getEntityType(), currEntity.getCurrentLocation(), currEntity.isInteractable())));
+        listOfEntities.forEach((currEntity) -> entities.add(createEntityResponse(currEntity)));
+
+        DungeonResponse response = new DungeonResponse(dungeonId, dungeonName, entities, Helper.getInventoryResponse(inventory), Helper.getBattleResponse(listOfBattles), buildables, getGoalsResponse(), Helper.getAnimations(listOfEntities));
+        TickMetrics.record(TickPhase.CREATE_RESPONSE, time);
+        return response;
+    }
 
-        return new DungeonResponse(dungeonId, dungeonName, entities, Helper.getInventoryResponse(inventory), Helper.getBattleResponse(listOfBattles), buildables, getGoalsResponse(), Helper.getAnimations(listOfEntities));
+    private static EntityResponse createEntityResponse(Entity entity) {
+        return new EntityResponse(entity.getEntityID(), entity.getEntityType(), entity.getCurrentLocation(), entity.isInteractable());
     }
 
 
     public Player getPlayer() {
-        for (Entity entity : listOfEntities) {
-            if (entity.getEntityType().equalsIgnoreCase("player")) {
-                Player player = (Player) entity;
-                return player;
-            }
-        }
-        return null;
+        return (Player) listOfEntities.getFirstOfType(EntityType.PLAYER);
     }
 
     private Entity getEntity(String id) {
@@ -244,6 +409,8 @@ public class DungeonManiaController implements Serializable {
      * /game/build
      */
     public DungeonResponse build(String buildable) throws IllegalArgumentException, InvalidActionException {
+        if (tickLog != null)
+            tickLog.build(buildable);
         return createDungeonResponse();
     }
 
@@ -259,53 +426,93 @@ public class DungeonManiaController implements Serializable {
 
         Player player = getPlayer();
 
-        if (entity.getEntityType().equalsIgnoreCase("mercenary") || entity.getEntityType().equalsIgnoreCase("assassin")) {
-            ((Mercenary) entity).bribery((Mercenary) entity, player, inventory, configMap);
-        } else if (entity.getEntityType().equalsIgnoreCase("zombie_toast_spawner")) {
+        if (entity.getType() == EntityType.MERCENARY || entity.getType() == EntityType.ASSASSIN) {
+            ((Mercenary) entity).bribery((Mercenary) entity, player, inventory, config);
+        } else if (entity.getType() == EntityType.ZOMBIE_TOAST_SPAWNER) {
             Helper.destroySpawner((ZombieToastSpawner) entity, player, inventory, listOfEntities, statistics);
         }
 
+        if (tickLog != null)
+            tickLog.interact(entityId);
         return createDungeonResponse();
     }
 
     /**
      * /game/save
+     * The game is copied before this returns, and written to disk in the background: getSaveStatus says when it has been.
      */
     public DungeonResponse saveGame(String name) throws IllegalArgumentException {
-        String path = "src/main/java/dungeonmania/saves/" + name + ".ser";
-        Save save = new Save(this);
-
         try {
-            FileOutputStream fOut = new FileOutputStream(path, false);
-            ObjectOutputStream out = new ObjectOutputStream(fOut);
-            out.writeObject(save);
-            out.close();
-            fOut.close();
+            tickLog = new TickLog(name, SaveStore.getDefault().save(name, this));
         } catch (IOException excep) {
             excep.printStackTrace();
         }
         return getDungeonResponseModel();
     }
 
+    /**
+     * /game/autosave
+     * Saves the game like saveGame. If it was last saved under the same name, only what has been played since is added
+     * to that save, unless the save has had so much added that it is time the whole game was saved again.
+     */
+    public DungeonResponse autosaveGame(String name) throws IllegalArgumentException {
+        autosave(name);
+        return getDungeonResponseModel();
+    }
+
+    /**
+     * Autosaves the game under the given name every so many ticks, or stops autosaving if the name is null.
+     */
+    public void setAutosave(String name, int everyTicks) {
+        if (name != null && everyTicks <= 0) {
+            throw new IllegalArgumentException("Autosaves must be at least a tick apart");
+        }
+
+        this.autosaveName = name;
+        this.autosaveEvery = everyTicks;
+    }
+
+    String getAutosaveName() {
+        return autosaveName;
+    }
+
+    int getAutosaveEvery() {
+        return autosaveEvery;
+    }
+
+    private void autosaveIfDue() {
+        if (autosaveName != null && tickCount % autosaveEvery == 0) {
+            autosave(autosaveName);
+        }
+    }
+
+    private void autosave(String name) {
+        SaveStore store = SaveStore.getDefault();
+        try {
+            if (tickLog != null && tickLog.getSaveName().equals(name)
+                    && store.appendTicks(name, tickLog.getGeneration(), tickLog.finish(this))) {
+                tickLog = new TickLog(name, tickLog.getGeneration());
+            } else {
+                tickLog = new TickLog(name, store.save(name, this));
+            }
+        } catch (IOException excep) {
+            excep.printStackTrace();
+        }
+    }
+
     /**
      * /game/load
      */
 
     public DungeonResponse loadGame(String name) throws IllegalArgumentException {
-        if (!allGames().contains(name)) {
+        SaveStore store = SaveStore.getDefault();
+        if (!store.contains(name)) {
             throw new IllegalArgumentException();
         }
-        Save UnSerializedData;
-
-        String path = "src/main/java/dungeonmania/saves/" + name + ".ser";
+        DungeonManiaController LoadedDMC;
 
-        // try to open file Pointer and read 
         try {
-            FileInputStream fIn = new FileInputStream(path);
-            ObjectInputStream In = new ObjectInputStream(fIn);
-            UnSerializedData = (Save) In.readObject();
-            In.close();
-            fIn.close();
+            LoadedDMC = store.load(name);
         } catch (IOException excep) {
             excep.printStackTrace();
             return null;
@@ -314,18 +521,6 @@ public class DungeonManiaController implements Serializable {
             return null;
         }
 
-        DungeonManiaController LoadedDMC = UnSerializedData.getDmc();
-        HashMap<String, ArrayList<Integer>> positions = UnSerializedData.getEntityPositions();
-        List<Entity> Entities = LoadedDMC.getListOfEntities();
-
-        Helper.setZombAndSpiderSpawnFields(UnSerializedData, LoadedDMC);
-
-        LoadedDMC.getPlayer().setPrevPos(new Position(positions.get("PrevPlayerPos").get(0), positions.get("PrevPlayerPos").get(1)));
-        for (Entity e : Entities) {
-            ArrayList<Integer> XandY = positions.get(e.getEntityID());
-            e.setCurrentLocation(new Position(XandY.get(0), XandY.get(1)));
-        }
-
         // overwrites current existing DMC with the loaded one from Deserialised Object
         reintialisefields(LoadedDMC);
 
@@ -333,45 +528,74 @@ public class DungeonManiaController implements Serializable {
         return getDungeonResponseModel();
     }
 
+    // Sets every field of a game read back by SaveFile.
+    void restore(int tickCount, EntityList listOfEntities, GameConfig config, String dungeonId, String dungeonName,
+            String configName, HashMap<String, Integer> mapOfMinAndMaxValues, List<Battle> listOfBattles, List<String> buildables,
+            Inventory inventory, Statistics statistics) {
+        this.tickCount = tickCount;
+        this.listOfEntities = listOfEntities;
+        this.config = config;
+        this.dungeonId = dungeonId;
+        this.dungeonName = dungeonName;
+        this.configName = configName;
+        this.mapOfMinAndMaxValues = mapOfMinAndMaxValues;
+        this.listOfBattles = listOfBattles;
+        this.buildables = buildables;
+        this.inventory = inventory;
+        this.statistics = statistics;
+        this.flowFields = null;
+    }
+
     /**
-     * /games/all
+     * /game/save/status
+     * @returns whether the save under the given name has been written to disk yet
      */
-    public List<String> allGames() {
-        String path = "src/main/java/dungeonmania/saves/";
-        List<String> GameNames = new ArrayList<String>();
-
-        for (File f : new File(path).listFiles()) {
-            GameNames.add(f.getName().replace(".ser", ""));
+    public SaveStore.Status getSaveStatus(String name) throws IllegalArgumentException {
+        SaveStore.Status status = SaveStore.getDefault().getStatus(name);
+        if (status == null) {
+            throw new IllegalArgumentException();
         }
+        return status;
+    }
 
-        return GameNames;
+    /**
+     * /games/all
+     */
+    public List<String> allGames() {
+        return SaveStore.getDefault().names();
     }
 
 
     private void reintialisefields() {
         tickCount = 0;
-        listOfEntities = new ArrayList<>();
-        configMap = new HashMap<>();
+        listOfEntities = new EntityList();
+        config = null;
         dungeonId = null;
         dungeonName = null;
+        configName = null;
         mapOfMinAndMaxValues = new HashMap<>();
         listOfBattles = new ArrayList<>();
         buildables = new ArrayList<>();
         inventory = new Inventory();
         statistics = null;
+        flowFields = null;
+        tickLog = null;
     }
 
     private void reintialisefields(DungeonManiaController LoadedDMC) {
         tickCount = LoadedDMC.getTickCount();
         listOfEntities = LoadedDMC.getListOfEntities();
-        configMap = LoadedDMC.getConfigMap();
+        config = LoadedDMC.getConfig();
         dungeonId = LoadedDMC.getDungeonId();
         dungeonName = LoadedDMC.getDungeonName();
+        configName = LoadedDMC.getConfigName();
         mapOfMinAndMaxValues = LoadedDMC.getMapOfMinAndMaxValues();
         listOfBattles = LoadedDMC.getListOfBattles();
         buildables = LoadedDMC.getBuildables();
         inventory = LoadedDMC.getInventory();
         statistics = LoadedDMC.getStatistics();
+        flowFields = null;
+        tickLog = null;
     }
 
 }
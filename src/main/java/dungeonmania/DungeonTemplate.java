@@ -0,0 +1,97 @@
+package dungeonmania;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
+import dungeonmania.Goal.BooleanGoal;
+import dungeonmania.response.models.EntityResponse;
+import dungeonmania.util.Position;
+
+/**
+ * A dungeon file parsed once, as what each of its entities is made from and its goals, so a game can be started in the
+ * dungeon without reading or parsing the file again. A template is never changed once parsed, so one can be shared by
+ * any number of games being started at once.
+ */
+public final class DungeonTemplate {
+    // What each entity is made from, by index, in the order the dungeon file lists them.
+    private final String[] types;
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] keys;
+    private final String[] colours;
+    private final int[] movementFactors;
+
+    // Never handed to a game, which gets a copy to complete.
+    private final BooleanGoal goal;
+
+    private DungeonTemplate(int size, BooleanGoal goal) {
+        this.types = new String[size];
+        this.xs = new int[size];
+        this.ys = new int[size];
+        this.keys = new int[size];
+        this.colours = new String[size];
+        this.movementFactors = new int[size];
+        this.goal = goal;
+    }
+
+    /**
+     * @param json the text of a dungeon file
+     */
+    public static DungeonTemplate fromJson(String json) {
+        JsonObject dungeonJsonObj = JsonParser.parseString(json).getAsJsonObject();
+        JsonArray jsonEntities = dungeonJsonObj.get("entities").getAsJsonArray();
+        DungeonTemplate template = new DungeonTemplate(jsonEntities.size(),
+            Statistics.generateGoals(dungeonJsonObj.get("goal-condition").getAsJsonObject()));
+
+        for (int i = 0; i < jsonEntities.size(); i++) {
+            JsonObject jsonObjElement = jsonEntities.get(i).getAsJsonObject();
+            // types repeat throughout a dungeon, so each is kept once
+            template.types[i] = jsonObjElement.get("type").getAsString().intern();
+            template.xs[i] = jsonObjElement.get("x").getAsInt();
+            template.ys[i] = jsonObjElement.get("y").getAsInt();
+            template.keys[i] = jsonObjElement.get("key") != null ? jsonObjElement.get("key").getAsInt() : Integer.MAX_VALUE;
+            template.colours[i] = jsonObjElement.get("colour") != null ? jsonObjElement.get("colour").getAsString() : " ";
+            template.movementFactors[i] = jsonObjElement.get("movement_factor") != null ? jsonObjElement.get("movement_factor").getAsInt() : -1;
+        }
+
+        return template;
+    }
+
+    /**
+     * Makes the dungeon's entities for a new game.
+     * @param listOfEntities the new game's entities, which the dungeon's are added to
+     * @param listOfEntityResponses filled with a response for each entity in the dungeon file, unless it is null
+     * @returns the new game's statistics, towards goals of its own
+     */
+    public Statistics instantiate(GameConfig config, EntityList listOfEntities, List<EntityResponse> listOfEntityResponses) {
+        for (int i = 0; i < types.length; i++) {
+            Entity entityCreated = EntityFactory.createEntity(types[i], xs[i], ys[i], keys[i], colours[i], config, movementFactors[i]);
+            if (entityCreated != null)
+                listOfEntities.add(entityCreated);
+
+            // no responses are wanted when a game is started headless
+            if (listOfEntityResponses == null)
+                continue;
+
+            if (entityCreated != null)
+                listOfEntityResponses.add(new EntityResponse(entityCreated.getEntityID(), entityCreated.getEntityType(), entityCreated.getCurrentLocation(), entityCreated.isInteractable()));
+            else
+                listOfEntityResponses.add(new EntityResponse(UUID.randomUUID().toString(), types[i], new Position(xs[i], ys[i]), false));
+        }
+
+        return new Statistics(goal == null ? null : goal.copy(), listOfEntities, config);
+    }
+
+    /**
+     * @returns how many entities the dungeon starts with
+     */
+    public int size() {
+        return types.length;
+    }
+}
@@ -1,5 +1,8 @@
 package dungeonmania.Entities.Collectables;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.UUID;
 
 import dungeonmania.util.Position;
@@ -11,7 +14,7 @@ public class Akey extends CollectableEntity {
         super();
         super.setEntityID(UUID.randomUUID().toString());
         super.setEntityType("key");
-        super.setCurrentLocation(new Position(x, y));
+        super.setCurrentLocation(Position.of(x, y));
         super.setCollectableEntity(true);
 
         pairNum = k;
@@ -20,4 +23,16 @@ public class Akey extends CollectableEntity {
     public Integer getKey() {
         return pairNum;
     }
-}
\ No newline at end of file
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeInt(pairNum);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        pairNum = in.readInt();
+    }
+}
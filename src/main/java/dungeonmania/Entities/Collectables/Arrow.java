@@ -9,7 +9,7 @@ public class Arrow extends CollectableEntity {
     public Arrow(int x, int y) {
         super.setEntityID(UUID.randomUUID().toString());
         super.setEntityType("arrow");
-        super.setCurrentLocation(new Position(x, y));
+        super.setCurrentLocation(Position.of(x, y));
         super.setCollectableEntity(true);
     }
 }
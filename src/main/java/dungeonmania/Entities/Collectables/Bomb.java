@@ -1,11 +1,15 @@
 package dungeonmania.Entities.Collectables;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
+import dungeonmania.Entities.EntityType;
 import dungeonmania.Entities.Inventory;
 import dungeonmania.Entities.Moving.Player;
 import dungeonmania.Entities.Static.FloorSwitch;
@@ -21,14 +25,14 @@ public class Bomb extends CollectableEntity {
         super();
         super.setEntityID(UUID.randomUUID().toString());
         super.setEntityType("bomb");
-        super.setCurrentLocation(new Position(x, y));
+        super.setCurrentLocation(Position.of(x, y));
         super.setCollectableEntity(true);
         super.setConsumable(true);
 
         this.radius = radius;
     }
 
-    public void use(Player play, List<Entity> listOfEntities, Inventory inventory) {
+    public void use(Player play, EntityList listOfEntities, Inventory inventory) {
         
 
         // now need to place bomb on map at location of player
@@ -42,7 +46,7 @@ public class Bomb extends CollectableEntity {
 
     }
 
-    public void checkBombStatus(List<Entity> listOfEntities, Player play) {
+    public void checkBombStatus(EntityList listOfEntities, Player play) {
         List<Position> positions = getSquarePositions();
         List<Entity> EntsinSquare = getEntitesInSquare(positions, listOfEntities);
 
@@ -52,7 +56,7 @@ public class Bomb extends CollectableEntity {
         }
     }
 
-    public void destroySurroundingEntities(Player play, List<Entity> EntsinSquare, List<Entity> listOfEntities) {
+    public void destroySurroundingEntities(Player play, List<Entity> EntsinSquare, EntityList listOfEntities) {
         ArrayList<Entity> toRemove = new ArrayList<Entity>();
 
         for (Entity e : listOfEntities) {
@@ -79,7 +83,7 @@ public class Bomb extends CollectableEntity {
         } else { 
             for (int x = super.getCurrentLocation().getX() - radius; x <= super.getCurrentLocation().getX() + radius; x++) {
                 for (int y = super.getCurrentLocation().getY() - radius; y <= super.getCurrentLocation().getY() + radius; y++) {
-                    positions.add(new Position(x, y));
+                    positions.add(Position.of(x, y));
                 }
             }
         }
@@ -88,42 +92,45 @@ public class Bomb extends CollectableEntity {
         return positions;
     }
 
-    private List<Entity> getEntitesInSquare(List<Position> pos, List<Entity> entities) {
+    private List<Entity> getEntitesInSquare(List<Position> pos, EntityList entities) {
 
         // get entities whom current location is within the square
-        return entities.stream().filter(e -> (pos.contains(e.getCurrentLocation()))).collect(Collectors.toList());
-
+        List<Entity> entsInSquare = new ArrayList<>();
+        for (Position p : pos) {
+            entsInSquare.addAll(entities.getEntitiesAt(p));
+        }
 
+        return entsInSquare;
     }
 
     public boolean isUsed() {
         return used;
     }
 
-    public boolean ifAdjacentToActive(List<Entity> entities) {
-        ArrayList<Position> positions = new ArrayList<Position>();
-        int x = super.getCurrentLocation().getX();
-        int y = super.getCurrentLocation().getY();
-
-        positions.add(new Position(x + 1, y));
-        positions.add(new Position(x, y + 1));
-        positions.add(new Position(x - 1, y));
-        positions.add(new Position(x, y - 1));
-
-        // get entities whom are floor switches and in cardinal squares
-        List<Entity> switchesInCardinalSquares = entities.stream().filter(e -> (positions.contains(e.getCurrentLocation()) && e.getEntityType().startsWith("switch"))).collect(Collectors.toList());
-
-        // if no switch in cardinal squares otherwise check if pressed
-        if (switchesInCardinalSquares.isEmpty()) {
-            return false;
-        } else {
-            for (Entity s : switchesInCardinalSquares) {
-                FloorSwitch sw = (FloorSwitch) s;
-                if (sw.getState() instanceof PressedState) {
+    public boolean ifAdjacentToActive(EntityList entities) {
+        // check the floor switches in cardinal squares for one that is pressed
+        for (Position p : super.getCurrentLocation().getCardinallyAdjacentPositions()) {
+            for (Entity e : entities.getEntitiesAt(p)) {
+                if (e.getType() == EntityType.SWITCH && ((FloorSwitch) e).getState() instanceof PressedState) {
                     return true;
                 }
             }
         }
+
         return false;
     }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeInt(radius);
+        out.writeBoolean(used);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        radius = in.readInt();
+        used = in.readBoolean();
+    }
 }
@@ -11,7 +11,7 @@ public class InvisibilityPotion extends CollectableEntity {
         super();
         super.setEntityID(UUID.randomUUID().toString());
         super.setEntityType("invisibility_potion");
-        super.setCurrentLocation(new Position(x, y));
+        super.setCurrentLocation(Position.of(x, y));
         super.setCollectableEntity(true);
         super.setConsumable(true);
     }
@@ -10,7 +10,7 @@ public class SunStone extends CollectableEntity {
         super();
         super.setEntityID(UUID.randomUUID().toString());
         super.setEntityType("sun_stone");
-        super.setCurrentLocation(new Position(x, y));
+        super.setCurrentLocation(Position.of(x, y));
         super.setCollectableEntity(true);
     }
 
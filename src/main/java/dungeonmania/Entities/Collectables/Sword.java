@@ -1,5 +1,8 @@
 package dungeonmania.Entities.Collectables;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.UUID;
 
 import dungeonmania.util.Position;
@@ -15,7 +18,7 @@ public class Sword extends CollectableEntity {
         
         super.setEntityID(UUID.randomUUID().toString());
         super.setEntityType("sword");
-        super.setCurrentLocation(new Position(x, y));
+        super.setCurrentLocation(Position.of(x, y));
         super.setCollectableEntity(true);
     }
 
@@ -39,4 +42,18 @@ public class Sword extends CollectableEntity {
     public void reduceDurability() {
         durability--;
     }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeInt(durability);
+        out.writeInt(attackFactor);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        durability = in.readInt();
+        attackFactor = in.readInt();
+    }
 }
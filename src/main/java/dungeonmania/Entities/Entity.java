@@ -1,7 +1,11 @@
 package dungeonmania.Entities;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 
+import dungeonmania.util.GameRandom;
 import dungeonmania.util.Position;
 
 public abstract class Entity implements Serializable {
@@ -9,12 +13,17 @@ public abstract class Entity implements Serializable {
     private transient Position currentLocation;
     private String entityID;
     private String entityType;
+    private EntityType type;
     private boolean isInteractable;
     private boolean isMovingEntity;
     private boolean isCollectableEntity;
     private boolean isConsumable;
     private int cost = 1;
 
+    // The list this entity is on the map through, if any. It is told about every change of location or type.
+    private transient EntityList owner;
+    private transient long listOrder;
+
     /* Getters and Setters */
 
     public boolean isConsumable() {
@@ -45,8 +54,19 @@ public abstract class Entity implements Serializable {
         return entityType;
     }
 
+    // The type as an enum, for comparisons that happen on every step.
+    public EntityType getType() {
+        return type;
+    }
+
     public void setEntityType(String entityType) {
+        EntityType previousType = this.type;
         this.entityType = entityType;
+        this.type = EntityType.fromName(entityType);
+
+        if (owner != null) {
+            owner.retype(this, previousType);
+        }
     }
 
     public Position getCurrentLocation() {
@@ -54,7 +74,28 @@ public abstract class Entity implements Serializable {
     }
 
     public void setCurrentLocation(Position currentLocation) {
+        Position previousLocation = this.currentLocation;
         this.currentLocation = currentLocation;
+
+        if (owner != null) {
+            owner.relocate(this, previousLocation, currentLocation);
+        }
+    }
+
+    // Called when this entity is added to a game's entity list. Entities that make random choices take their randomness from the game here.
+    protected void joinGame(GameRandom random) {
+    }
+
+    void setOwner(EntityList owner) {
+        this.owner = owner;
+    }
+
+    long getListOrder() {
+        return listOrder;
+    }
+
+    void setListOrder(long listOrder) {
+        this.listOrder = listOrder;
     }
     
     public boolean isInteractable() {
@@ -62,7 +103,27 @@ public abstract class Entity implements Serializable {
     }
 
     public void setInteractable(boolean isInteractable) {
+        boolean changed = this.isInteractable != isInteractable;
         this.isInteractable = isInteractable;
+
+        if (changed && owner != null) {
+            owner.entityChanged(this);
+        }
+    }
+
+    /* Saving */
+
+    /**
+     * Writes what can change about this entity during a game, for SaveFile. Its id, type and location are written
+     * separately, and what it takes from the config is given to it again by EntityFactory when it is read.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeBoolean(isInteractable);
+    }
+
+    // Restores what writeState wrote, onto an entity EntityFactory has just made.
+    public void readState(DataInput in) throws IOException {
+        isInteractable = in.readBoolean();
     }
 
     public boolean isMovingEntity() {
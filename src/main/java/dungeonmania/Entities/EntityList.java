@@ -0,0 +1,316 @@
+package dungeonmania.Entities;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import dungeonmania.util.GameRandom;
+import dungeonmania.util.LongMap;
+import dungeonmania.util.Position;
+
+/**
+ * The list of entities on the map, plus indexes of which entities sit on each tile and which are of each type.
+ *
+ * Entities added to this list report every change of location or type back to it (see Entity.setCurrentLocation),
+ * so looking up what is on a tile, or every entity of a type, costs the same no matter how large the dungeon is.
+ */
+public class EntityList extends AbstractList<Entity> implements Serializable {
+    private ArrayList<Entity> entities = new ArrayList<>();
+
+    // Every entity that joins the list draws its own randomness from this (see Entity.joinGame).
+    private GameRandom random = GameRandom.unseeded();
+
+    // Keyed by packed tile coordinates. Position isn't serializable, so the index is rebuilt as locations are restored after loading.
+    private transient LongMap<List<Entity>> grid = new LongMap<>();
+
+    private transient EnumMap<EntityType, List<Entity>> byType = new EnumMap<>(EntityType.class);
+
+    // Entities on a tile or of a type are kept in the order they joined the list, so callers see them as a scan of the list would.
+    private transient long nextListOrder = 0;
+
+    // Tiles where something arrived, left or changed type since the last call to takeChangedTiles.
+    private transient HashSet<Position> changedTiles = new HashSet<>();
+
+    // Entities that joined, moved or changed type or interactability, and the ids of entities that left, since the last
+    // call to takeChangedEntities. Both are null until trackEntityChanges is called, so games nobody asks for deltas of don't pay for them.
+    private transient LinkedHashSet<Entity> changedEntities;
+    private transient LinkedHashSet<String> removedEntityIds;
+
+    /* List operations */
+
+    @Override
+    public Entity get(int index) {
+        return entities.get(index);
+    }
+
+    @Override
+    public int size() {
+        return entities.size();
+    }
+
+    @Override
+    public void add(int index, Entity entity) {
+        entities.add(index, entity);
+        modCount++;
+        attach(entity);
+        entity.joinGame(random);
+    }
+
+    @Override
+    public Entity remove(int index) {
+        Entity entity = entities.remove(index);
+        modCount++;
+        detach(entity);
+        return entity;
+    }
+
+    @Override
+    public Entity set(int index, Entity entity) {
+        Entity old = entities.set(index, entity);
+        detach(old);
+        attach(entity);
+        entity.joinGame(random);
+        return old;
+    }
+
+    /**
+     * Adds an entity read back from a save. Unlike add, it doesn't join the game: it keeps the randomness it was saved with.
+     */
+    public void restore(Entity entity) {
+        entities.add(entity);
+        modCount++;
+        attach(entity);
+    }
+
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    // Entities already in the list keep the randomness they were given, so this is set before the dungeon is read.
+    public void setRandom(GameRandom random) {
+        this.random = random;
+    }
+
+    /* Tile lookups */
+
+    /**
+     * @returns a snapshot of the entities currently on the given tile.
+     */
+    public List<Entity> getEntitiesAt(Position position) {
+        List<Entity> here = grid.get(position.pack());
+        return here == null ? new ArrayList<>() : new ArrayList<>(here);
+    }
+
+    /**
+     * @returns true if an entity of the given type is on the given tile.
+     */
+    public boolean isTypeAt(Position position, EntityType type) {
+        List<Entity> here = grid.get(position.pack());
+        if (here == null) {
+            return false;
+        }
+
+        for (Entity entity : here) {
+            if (entity.getType() == type) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @returns true if nothing is on the given tile.
+     */
+    public boolean isEmptyAt(Position position) {
+        return !grid.containsKey(position.pack());
+    }
+
+    /**
+     * @returns the tiles where something arrived, left or changed type since the last call, and forgets them.
+     */
+    public Set<Position> takeChangedTiles() {
+        Set<Position> changed = changedTiles;
+        changedTiles = new HashSet<>();
+        return changed;
+    }
+
+    /* Entity changes */
+
+    /**
+     * Starts (or restarts) tracking which entities change, for sending only those to a client that has the rest.
+     */
+    public void trackEntityChanges() {
+        changedEntities = new LinkedHashSet<>();
+        removedEntityIds = new LinkedHashSet<>();
+    }
+
+    public boolean isTrackingEntityChanges() {
+        return changedEntities != null;
+    }
+
+    /**
+     * @returns the entities that joined the list or changed since the last call, in the order they first changed, and forgets them.
+     */
+    public List<Entity> takeChangedEntities() {
+        List<Entity> changed = new ArrayList<>(changedEntities);
+        changedEntities.clear();
+        return changed;
+    }
+
+    /**
+     * @returns the ids of the entities that left the list since the last call, and forgets them.
+     */
+    public List<String> takeRemovedEntityIds() {
+        List<String> removed = new ArrayList<>(removedEntityIds);
+        removedEntityIds.clear();
+        return removed;
+    }
+
+    // Called by an entity in this list whenever something a client is shown about it changes.
+    void entityChanged(Entity entity) {
+        if (changedEntities != null) {
+            changedEntities.add(entity);
+        }
+    }
+
+    /* Type lookups */
+
+    /**
+     * @returns a snapshot of the entities of the given type, in list order.
+     */
+    public List<Entity> getEntitiesOfType(EntityType type) {
+        List<Entity> ofType = byType.get(type);
+        return ofType == null ? new ArrayList<>() : new ArrayList<>(ofType);
+    }
+
+    /**
+     * @returns the first entity of the given type in list order, or null if there is none.
+     */
+    public Entity getFirstOfType(EntityType type) {
+        List<Entity> ofType = byType.get(type);
+        return ofType == null ? null : ofType.get(0);
+    }
+
+    public int countOfType(EntityType type) {
+        return byType.getOrDefault(type, Collections.emptyList()).size();
+    }
+
+    // Called by an entity in this list whenever its location changes.
+    void relocate(Entity entity, Position from, Position to) {
+        removeFromTile(entity, from);
+        addToTile(entity, to);
+        entityChanged(entity);
+    }
+
+    // Called by an entity in this list whenever its type changes, e.g. a door being unlocked.
+    void retype(Entity entity, EntityType previousType) {
+        removeFromType(entity, previousType);
+        addToType(entity, entity.getType());
+        entityChanged(entity);
+
+        if (entity.getCurrentLocation() != null) {
+            changedTiles.add(entity.getCurrentLocation());
+        }
+    }
+
+    private void attach(Entity entity) {
+        entity.setOwner(this);
+        entity.setListOrder(nextListOrder++);
+        addToTile(entity, entity.getCurrentLocation());
+        addToType(entity, entity.getType());
+
+        if (changedEntities != null) {
+            removedEntityIds.remove(entity.getEntityID());
+            changedEntities.add(entity);
+        }
+    }
+
+    private void detach(Entity entity) {
+        entity.setOwner(null);
+        removeFromTile(entity, entity.getCurrentLocation());
+        removeFromType(entity, entity.getType());
+
+        if (changedEntities != null) {
+            changedEntities.remove(entity);
+            removedEntityIds.add(entity.getEntityID());
+        }
+    }
+
+    private void addToTile(Entity entity, Position position) {
+        if (position == null) {
+            return;
+        }
+
+        List<Entity> here = grid.get(position.pack());
+        if (here == null) {
+            here = new ArrayList<>(2);
+            grid.put(position.pack(), here);
+        }
+
+        insertInListOrder(here, entity);
+        changedTiles.add(position);
+    }
+
+    private void removeFromTile(Entity entity, Position position) {
+        if (position == null) {
+            return;
+        }
+
+        List<Entity> here = grid.get(position.pack());
+        if (here == null) {
+            return;
+        }
+
+        here.remove(entity);
+        changedTiles.add(position);
+        if (here.isEmpty()) {
+            grid.remove(position.pack());
+        }
+    }
+
+    private void addToType(Entity entity, EntityType type) {
+        if (type != null) {
+            insertInListOrder(byType.computeIfAbsent(type, t -> new ArrayList<>()), entity);
+        }
+    }
+
+    private void removeFromType(Entity entity, EntityType type) {
+        List<Entity> ofType = type == null ? null : byType.get(type);
+        if (ofType == null) {
+            return;
+        }
+
+        ofType.remove(entity);
+        if (ofType.isEmpty()) {
+            byType.remove(type);
+        }
+    }
+
+    private static void insertInListOrder(List<Entity> entities, Entity entity) {
+        int index = entities.size();
+        while (index > 0 && entities.get(index - 1).getListOrder() > entity.getListOrder()) {
+            index--;
+        }
+
+        entities.add(index, entity);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        grid = new LongMap<>();
+        byType = new EnumMap<>(EntityType.class);
+        changedTiles = new HashSet<>();
+        for (Entity entity : entities) {
+            attach(entity);
+        }
+    }
+}
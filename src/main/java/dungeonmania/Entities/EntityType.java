@@ -0,0 +1,67 @@
+package dungeonmania.Entities;
+
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * Every type of entity that can appear in a dungeon. The name of a type is the string used for it
+ * in dungeon files, responses and the step rules, e.g. ZOMBIE_TOAST is "zombie_toast".
+ */
+public enum EntityType {
+    PLAYER,
+    OLDER_PLAYER,
+    SPIDER,
+    ZOMBIE_TOAST,
+    MERCENARY,
+    ASSASSIN,
+    HYDRA,
+    FLOOR,
+    WALL,
+    EXIT,
+    BOULDER,
+    SWITCH,
+    DOOR,
+    DOOR_OPEN,
+    SWITCH_DOOR,
+    PORTAL,
+    TIME_TRAVELLING_PORTAL,
+    ZOMBIE_TOAST_SPAWNER,
+    SWAMP_TILE,
+    LIGHT_BULB_OFF,
+    LIGHT_BULB_ON,
+    WIRE,
+    TREASURE,
+    KEY,
+    INVINCIBILITY_POTION,
+    INVISIBILITY_POTION,
+    WOOD,
+    ARROW,
+    BOMB,
+    SWORD,
+    SUN_STONE,
+    TIME_TURNER,
+    BOW,
+    SHIELD,
+    SCEPTRE,
+    MIDNIGHT_ARMOUR;
+
+    private static final HashMap<String, EntityType> BY_NAME = new HashMap<>();
+    static {
+        for (EntityType type : values()) {
+            BY_NAME.put(type.getName(), type);
+        }
+    }
+
+    private final String name = name().toLowerCase(Locale.ROOT);
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @returns the type with the given name, or null if there is no such type.
+     */
+    public static EntityType fromName(String name) {
+        return BY_NAME.get(name);
+    }
+}
@@ -23,9 +23,9 @@ public class Inventory implements Serializable {
         inventory.remove(item);
     }
 
-    public Entity getItem(String type) {
+    public Entity getItem(EntityType type) {
         for (Entity entity : inventory) {
-            if (entity.getEntityType().equalsIgnoreCase(type)) {
+            if (entity.getType() == type) {
                 return entity;
             }
         }
@@ -44,9 +44,9 @@ public class Inventory implements Serializable {
     }
 
     // For checking if a certain type of entity (e.g. a sword) exists.
-    public boolean itemExists(String type) {
+    public boolean itemExists(EntityType type) {
         for (Entity entity : inventory) {
-            if (entity.getEntityType().equalsIgnoreCase(type)) {
+            if (entity.getType() == type) {
                 return true;
             }
         }
@@ -1,40 +1,55 @@
 package dungeonmania.Entities.Moving;
 
-import java.util.HashMap;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
-import java.util.Random;
 import java.util.UUID;
 
+import dungeonmania.GameConfig;
 import dungeonmania.Statistics;
 import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
 import dungeonmania.Entities.Inventory;
 import dungeonmania.util.Direction;
+import dungeonmania.util.GameRandom;
 import dungeonmania.util.Position;
+import dungeonmania.util.SavableRandom;
 
 public class Hydra extends MovingEntity {
     private double hydraRate;
     private double hydraAmt;
+    // Fixed until the hydra joins a game and draws its seed from it, so its rolls never depend on the clock.
     private long seed;
-    private Random random;
+    private SavableRandom random = new SavableRandom(0);
+    private boolean seeded;
 
-    public Hydra(int x, int y, HashMap<String, String> configMap) {
+    public Hydra(int x, int y, GameConfig config) {
         super();
         super.setEntityID(UUID.randomUUID().toString());
         super.setInteractable(false);
         super.setEntityType("hydra");
-        super.setEnemyHealth(configMap.get("hydra_health") != null ? Double.parseDouble(configMap.get("hydra_health")) : 0);
+        super.setEnemyHealth(config.getHydraHealth());
         super.setAlly(false);
         super.setCanStepOn("hydra");
-        super.setCurrentLocation(new Position(x, y));
-        super.setEnemyDamage(configMap.get("hydra_attack") != null ? Double.parseDouble(configMap.get("hydra_attack")) : 0);
-        this.hydraRate = configMap.get("hydra_health_increase_rate") != null ? Double.parseDouble(configMap.get("hydra_health_increase_rate")) : 0;
-        this.hydraAmt = configMap.get("hydra_health_increase_amount") != null ? Double.parseDouble(configMap.get("hydra_health_increase_amount")) : 0;
-        this.seed = System.currentTimeMillis();
-        this.random = new Random(seed);
+        super.setCurrentLocation(Position.of(x, y));
+        super.setEnemyDamage(config.getHydraAttack());
+        this.hydraRate = config.getHydraHealthIncreaseRate();
+        this.hydraAmt = config.getHydraHealthIncreaseAmount();
     }
 
+    // The hydra's health rolls come from a seed drawn from the game the first time it joins, so they can be replayed
+    // from getSeed. Each random move joins again, and drawing then would change what every other entity draws.
     @Override
-    public void move(List<Entity> listOfEntities, Direction dir, Player player, Inventory inventory,
+    protected void joinGame(GameRandom random) {
+        super.joinGame(random);
+        if (!seeded) {
+            setSeed(random.nextLong());
+        }
+    }
+
+    @Override
+    public void move(EntityList listOfEntities, Direction dir, Player player, Inventory inventory,
                      Statistics statistics) {
         super.moveRandomly(listOfEntities, dir, player, inventory, statistics);
     }
@@ -57,5 +72,21 @@ public class Hydra extends MovingEntity {
 
     public void setSeed(long seed) {
         this.seed = seed;
+        this.random = new SavableRandom(seed);
+        this.seeded = true;
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeLong(seed);
+        out.writeLong(random.getState());
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        setSeed(in.readLong());
+        random.setState(in.readLong());
     }
 }
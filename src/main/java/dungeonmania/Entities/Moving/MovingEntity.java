@@ -1,21 +1,28 @@
 package dungeonmania.Entities.Moving;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 import java.util.Random;
 import java.util.ArrayList;
-import java.util.Arrays;
 
 import dungeonmania.util.Position;
 import dungeonmania.Statistics;
 import dungeonmania.StepOnJson;
 import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
+import dungeonmania.Entities.EntityType;
 import dungeonmania.Entities.Inventory;
 import dungeonmania.Entities.Static.SwampTile;
 import dungeonmania.util.Direction;
+import dungeonmania.util.GameRandom;
+import dungeonmania.util.SavableRandom;
 
 public abstract class MovingEntity extends Entity {
 
-    private ArrayList<String> canStepOn;
+    private EntityType stepRules;
+    private Random random;
     private double playerHealth;
     private double enemyHealth;
     private boolean isAlly;
@@ -27,7 +34,7 @@ public abstract class MovingEntity extends Entity {
         this.tickCountOnSwampTile = 0; // 0 means the entity is not on the tile. If count is 1+, it means it is on the tile.
     }
 
-    public abstract void move(List<Entity> listOfEntities, Direction dir, Player player, Inventory inventory, Statistics statistics);
+    public abstract void move(EntityList listOfEntities, Direction dir, Player player, Inventory inventory, Statistics statistics);
 
     public Position getCurrentLocation() {
         return super.getCurrentLocation();
@@ -45,18 +52,21 @@ public abstract class MovingEntity extends Entity {
         super.setInteractable(isInteractable);
     }
 
+    // Follows the step rules of the given type of mover.
     public void setCanStepOn(String type) {
-        this.canStepOn = StepOnJson.getStepLogic(type);
+        this.stepRules = EntityType.fromName(type);
+    }
+
+    public EntityType getStepRules() {
+        return stepRules;
     }
 
     public boolean canStep(String type) {
-        for (String legalType : this.canStepOn) {
-            if (type.equals(legalType)) {
-                return true;
-            }
-        }
-        
-        return false;
+        return canStep(EntityType.fromName(type));
+    }
+
+    public boolean canStep(EntityType type) {
+        return StepOnJson.canStep(stepRules, type);
     }
 
     public double getPlayerHealth() {
@@ -83,42 +93,41 @@ public abstract class MovingEntity extends Entity {
         this.isAlly = isAlly;
     }
 
+    // Takes this entity's own randomness from the game the first time it joins.
+    @Override
+    protected void joinGame(GameRandom random) {
+        if (this.random == null)
+            this.random = random.split();
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
     // returns a random position from a list of possible locations.
-    // used by zombies, spiders and mercenaries.
-    public Position getRandPos(List<Position> possibleLocations) {
+    // used by zombies, spiders and hydras. Entities that are spawning draw from the game they are about to join.
+    public Position getRandPos(EntityList listOfEntities, List<Position> possibleLocations) {
         if (possibleLocations.size() <= 0)
             return this.getCurrentLocation();
 
-        Random rand = new Random();
-        int randNum = rand.nextInt(possibleLocations.size());
+        joinGame(listOfEntities.getRandom());
+        int randNum = random.nextInt(possibleLocations.size());
         Position location = possibleLocations.get(randNum);
         super.setCurrentLocation(location);
 
         return location;
     }
 
-    // creates and returns a list of all cardinally adjacent positions
+    // creates and returns a list of all cardinally adjacent positions (left, right, up, down) that callers are free to filter
     public List<Position> createListOfCardinalPos(Position currPos) {
-        Position up = new Position(currPos.getX(), currPos.getY() - 1);
-        Position down = new Position(currPos.getX(), currPos.getY() + 1);
-        Position left = new Position(currPos.getX() - 1, currPos.getY());
-        Position right = new Position(currPos.getX() + 1, currPos.getY());
-
-        return new ArrayList<>(Arrays.asList(left, right, up, down));
-    }
-
-    // after a moving entity moves, update its position in listOfEntities
-    public void updatePosAfterMove(List<Entity> listOfEntities, Position nextPosition, String id) {
-        Entity entity = listOfEntities.stream()
-                                      .filter(e -> e.getEntityID().equalsIgnoreCase(id))
-                                      .findFirst()
-                                      .get();
-
-        if (entity != null)
-            entity.setCurrentLocation(nextPosition);
+        return new ArrayList<>(currPos.getCardinallyAdjacentPositions());
     }
 
-    public void moveRandomly(List<Entity> listOfEntities, Direction dir, Player player, Inventory inventory, Statistics statistics) {
+    public void moveRandomly(EntityList listOfEntities, Direction dir, Player player, Inventory inventory, Statistics statistics) {
         // before the entity moves, the entity may be already stuck on the swamp tile
         swampAffectEnemyMovement(listOfEntities);
         if (tickCountOnSwampTile > 0) // if the entity is stuck on the swamp tile, they can't move, so return early.
@@ -127,25 +136,30 @@ public abstract class MovingEntity extends Entity {
         List<Position> moveLocations = createListOfCardinalPos(getCurrentLocation());
         updateAvailablePosList(listOfEntities, moveLocations);
 
-        // update this entity's position in the listOfEntities
-        Position newPosition = getRandPos(moveLocations);
-        updatePosAfterMove(listOfEntities, newPosition, getEntityID());
+        // moves this entity, which moves it in the listOfEntities too
+        getRandPos(listOfEntities, moveLocations);
 
         // after the entity moves, they may end up on a swamp tile.
         swampAffectEnemyMovement(listOfEntities);
     }
 
     // updates a list of positions that moving entities (e.g. zombies and hydras) can be on
-    public void updateAvailablePosList(List<Entity> listOfEntities, List<Position> positions) {
-        for (Entity currEntity : listOfEntities) {
-            Position currEntityPosition = currEntity.getCurrentLocation();
-            if (positions.contains(currEntityPosition) && !canStep(currEntity.getEntityType()))
-                positions.remove(currEntityPosition);
+    public void updateAvailablePosList(EntityList listOfEntities, List<Position> positions) {
+        positions.removeIf(position -> !canStepOnAll(listOfEntities, position));
+    }
+
+    // returns true if this entity can step on every entity at the given position
+    public boolean canStepOnAll(EntityList listOfEntities, Position position) {
+        for (Entity currEntity : listOfEntities.getEntitiesAt(position)) {
+            if (!canStep(currEntity.getType()))
+                return false;
         }
+
+        return true;
     }
 
     // swamp tiles affect enemy movement
-    public void swampAffectEnemyMovement(List<Entity> listOfEntities) {
+    public void swampAffectEnemyMovement(EntityList listOfEntities) {
         if (tickCountOnSwampTile >= 0 && tickCountOnSwampTile <= getMovementFactor(listOfEntities)) {
             tickCountOnSwampTile++;
         } else {
@@ -153,10 +167,10 @@ public abstract class MovingEntity extends Entity {
         }
     }
 
-    private int getMovementFactor(List<Entity> listOfEntities) {
+    private int getMovementFactor(EntityList listOfEntities) {
         Position currEnemyPos = getCurrentLocation();
-        for (Entity currEntity : listOfEntities) {
-            if (currEntity.getCurrentLocation().equals(currEnemyPos) && currEntity.getEntityType().equalsIgnoreCase("swamp_tile"))
+        for (Entity currEntity : listOfEntities.getEntitiesAt(currEnemyPos)) {
+            if (currEntity.getType() == EntityType.SWAMP_TILE)
                 return ((SwampTile)currEntity).getMovementFactor();
         }
 
@@ -185,4 +199,39 @@ public abstract class MovingEntity extends Entity {
     public double getDeltaEnemyHealth(double playerAttack) {
         return playerAttack / 5;
     }
+
+    // The entity's randomness is saved when it can be, so a loaded game draws what the saved one would have.
+    // Otherwise it is given fresh randomness from the game when it is loaded (see SaveFile.read).
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeDouble(playerHealth);
+        out.writeDouble(enemyHealth);
+        out.writeDouble(enemyDamage);
+        out.writeBoolean(isAlly);
+        out.writeInt(tickCountOnSwampTile);
+
+        boolean savable = random instanceof SavableRandom;
+        out.writeBoolean(savable);
+        if (savable)
+            out.writeLong(((SavableRandom) random).getState());
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        playerHealth = in.readDouble();
+        enemyHealth = in.readDouble();
+        enemyDamage = in.readDouble();
+        isAlly = in.readBoolean();
+        tickCountOnSwampTile = in.readInt();
+
+        if (in.readBoolean()) {
+            SavableRandom restored = new SavableRandom(0);
+            restored.setState(in.readLong());
+            random = restored;
+        } else {
+            random = null;
+        }
+    }
 }
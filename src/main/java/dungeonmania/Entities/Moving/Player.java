@@ -1,14 +1,21 @@
 package dungeonmania.Entities.Moving;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import dungeonmania.GameConfig;
 import dungeonmania.util.Position;
 import dungeonmania.Statistics;
 import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
+import dungeonmania.Entities.EntityType;
 import dungeonmania.Entities.Inventory;
 import dungeonmania.Entities.Collectables.Akey;
 import dungeonmania.Entities.Collectables.Bomb;
@@ -24,18 +31,18 @@ public class Player extends MovingEntity {
     private transient Position prevPos;
     private int allies = 0;
 
-    public Player(int x, int y, HashMap<String, String> configMap) {
+    public Player(int x, int y, GameConfig config) {
         super();
         super.setEntityID(UUID.randomUUID().toString());
         super.setInteractable(false);
         super.setEntityType("player");
-        super.setCurrentLocation(new Position(x, y));
+        super.setCurrentLocation(Position.of(x, y));
         super.setCanStepOn("player");
 
-        setPrevPos(new Position(x, y));
-        super.setPlayerHealth(Double.parseDouble(configMap.get("player_health")));
+        setPrevPos(Position.of(x, y));
+        super.setPlayerHealth(config.getPlayerHealth());
         super.setAlly(true);
-        super.setEnemyDamage(Double.parseDouble(configMap.get("player_attack")));
+        super.setEnemyDamage(config.getPlayerAttack());
     }
 
     public int getAllies() {
@@ -46,7 +53,7 @@ public class Player extends MovingEntity {
         this.allies += 1;
     }
 
-    public void move(List<Entity> listOfEntities, Direction dir, Player player, Inventory inventory, Statistics statistics) {
+    public void move(EntityList listOfEntities, Direction dir, Player player, Inventory inventory, Statistics statistics) {
         Position curr = super.getCurrentLocation();
         Position next = curr.translateBy(dir);
 
@@ -56,24 +63,24 @@ public class Player extends MovingEntity {
         
     }
 
-    private boolean legalMove(List<Entity> listOfEntities, Position next, Inventory inventory, Statistics statistics, Player player) {
+    private boolean legalMove(EntityList listOfEntities, Position next, Inventory inventory, Statistics statistics, Player player) {
 
-        List<Entity> entitiesHere = listOfEntities.stream().filter(e -> e.getCurrentLocation().equals(next)).collect(Collectors.toList());
+        List<Entity> entitiesHere = listOfEntities.getEntitiesAt(next);
 
-        List<Entity> inv = inventory.getInventory().stream().filter(e -> e.getEntityType().equals("key")).collect(Collectors.toList());
+        List<Entity> inv = inventory.getInventory().stream().filter(e -> e.getType() == EntityType.KEY).collect(Collectors.toList());
 
         ArrayList<Entity> items = new ArrayList<Entity>();
         for (Entity currEntity : entitiesHere) {
-            if (!super.canStep(currEntity.getEntityType())) {
+            if (!super.canStep(currEntity.getType())) {
                 return false;
-            } else if (currEntity.getEntityType().equals("exit")) {
+            } else if (currEntity.getType() == EntityType.EXIT) {
                 statistics.reachedExit();
                 ((Exit) currEntity).setExitState(true);
             } else if (currEntity.isCollectableEntity()) {
-                if (currEntity.getEntityType().equals("key") && !inv.isEmpty()) {
+                if (currEntity.getType() == EntityType.KEY && !inv.isEmpty()) {
                     
                 } else {
-                    if (currEntity.getEntityType().startsWith("bomb")) {
+                    if (currEntity.getType() == EntityType.BOMB) {
                         Bomb entity = (Bomb) currEntity;
                         if (entity.isUsed()) {
                             continue;
@@ -99,7 +106,7 @@ public class Player extends MovingEntity {
             inventory.addItem(curr);
             listOfEntities.remove(curr);
             
-            if (curr.getEntityType().equals("treasure") || curr.getEntityType().equals("sun_stone")) {
+            if (curr.getType() == EntityType.TREASURE || curr.getType() == EntityType.SUN_STONE) {
                 statistics.addTreasureCollected();
             }
         }
@@ -114,6 +121,27 @@ public class Player extends MovingEntity {
     public void setPrevPos(Position prevPos) {
         this.prevPos = prevPos;
     }
-}
 
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        Position.write(out, prevPos);
+        out.writeInt(allies);
+        out.writeInt(activeStates.size());
+        for (Map.Entry<String, Integer> state : activeStates.entrySet()) {
+            out.writeUTF(state.getKey());
+            out.writeInt(state.getValue());
+        }
+    }
 
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        prevPos = Position.read(in);
+        allies = in.readInt();
+        activeStates.clear();
+        for (int i = in.readInt(); i > 0; i--) {
+            activeStates.put(in.readUTF(), in.readInt());
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package dungeonmania.Entities.Moving;
 
+import dungeonmania.GameConfig;
 import dungeonmania.util.Position;
 import dungeonmania.Statistics;
 import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
 import dungeonmania.Entities.Inventory;
 import dungeonmania.util.Direction;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,54 +23,52 @@ public class Spider extends MovingEntity {
     private int yMax;
     private transient Position spawnLocation;
 
-    public Spider(int x, int y, HashMap<String, String> configMap) {
+    public Spider(int x, int y, GameConfig config) {
         super();
-        this.spawnLocation = new Position(x, y);
+        this.spawnLocation = Position.of(x, y);
         super.setCurrentLocation(spawnLocation);
-        initialiseSpider(configMap);
+        initialiseSpider(config);
     }
 
-    public Spider(int xMin, int xMax, int yMin, int yMax, HashMap<String, String> configMap) {
+    public Spider(int xMin, int xMax, int yMin, int yMax, GameConfig config) {
         super();
         this.xMin = xMin;
         this.xMax = xMax;
         this.yMin = yMin;
         this.yMax = yMax;
-        initialiseSpider(configMap);
+        initialiseSpider(config);
     }
 
-    private void initialiseSpider(HashMap<String, String> configMap) {
+    private void initialiseSpider(GameConfig config) {
         super.setEntityID(UUID.randomUUID().toString());
         super.setInteractable(false);
         super.setEntityType("spider");
-        super.setEnemyHealth(Double.parseDouble(configMap.get("spider_health")));
+        super.setEnemyHealth(config.getSpiderHealth());
         super.setAlly(false);
         super.setCanStepOn("spider");
-        super.setEnemyDamage(Double.parseDouble(configMap.get("spider_attack")));
+        super.setEnemyDamage(config.getSpiderAttack());
     }
 
-    public void spawn(List<Entity> listOfEntities, Player player) {
-        // get a list of possible spawn locations within the map
+    public void spawn(EntityList listOfEntities, Player player) {
+        // get a list of possible spawn locations within the map,
+        // excluding locations of boulders since spiders can't spawn on top of them
         List<Position> possibleSpiderLocations = new ArrayList<>();
         for (int row = xMin; row <= xMax; row++) {
             for (int col = yMin; col <= yMax; col++) {
-                possibleSpiderLocations.add(new Position(row, col));
+                Position position = Position.of(row, col);
+                if (super.canStepOnAll(listOfEntities, position))
+                    possibleSpiderLocations.add(position);
             }
         }
-        
-        // exclude locations of boulders since spiders can't spawn on top of them
-        listOfEntities.stream()
-                      .filter((currEntity) -> !super.canStep(currEntity.getEntityType()) && possibleSpiderLocations.contains(currEntity.getCurrentLocation()))
-                      .forEach((ent) -> possibleSpiderLocations.remove(ent.getCurrentLocation()));
 
-        Position spawnLocation = super.getRandPos(possibleSpiderLocations);
+        Position spawnLocation = super.getRandPos(listOfEntities, possibleSpiderLocations);
         setSpawnLocation(spawnLocation);
         listOfEntities.add(this);
 
         swampAffectEnemyMovement(listOfEntities);
     }
 
-    public void move(List<Entity> listOfEntities, Direction dir, Player player, Inventory inventory, Statistics statistics) {
+    public void move(EntityList listOfEntities, Direction dir, Player player, Inventory inventory, Statistics statistics) {
         swampAffectEnemyMovement(listOfEntities);
         if (super.getTickCountOnSwampTile() > 0)
             return;
@@ -86,50 +88,40 @@ public class Spider extends MovingEntity {
     }
 
 
+    // The spider's orbit is the ring of tiles around its spawn location, numbered as in Position.getAdjacentPositions:
+    // 0 1 2
+    // 7 s 3
+    // 6 5 4
+    // so moving clockwise is the next tile in the ring and moving anticlockwise the previous one.
+    private static final int[][] RING_INDEX = {
+        {0,  1, 2},
+        {7, -1, 3},
+        {6,  5, 4}
+    };
+    private static final int RING_TOP = 1;
+
     private Position getNextPosition() {
-        int spawnPosX = spawnLocation.getX();
-        int spawnPosY = spawnLocation.getY();
-        HashMap<Position, Position> clockwisePos = generateClockwisePosMap(spawnPosX, spawnPosY);
-        HashMap<Position, Position> anticlockwisePos = generateAntiClockwisePosMap(spawnPosX, spawnPosY);
-
-        // if nextPos is null, this means the spider is currently at its spawnLocation. Thus, spider moves up next.
-        Position nextPos = isClockwise ? clockwisePos.get(getCurrentLocation()) : anticlockwisePos.get(getCurrentLocation());
-        return nextPos != null ? nextPos : new Position(spawnPosX, spawnPosY - 1);
-    }
+        List<Position> ring = spawnLocation.getAdjacentPositions();
+        int index = ringIndexOf(getCurrentLocation());
 
-    // generates a hashmap of the spider's new locations if it is moving anticlockwise.
-    private HashMap<Position, Position> generateAntiClockwisePosMap(int spawnPosX, int spawnPosY) {
-        HashMap<Position, Position> anticlockwisePos = new HashMap<>();
-        anticlockwisePos.put(new Position(spawnPosX, spawnPosY - 1), new Position(spawnPosX - 1, spawnPosY - 1));
-        anticlockwisePos.put(new Position(spawnPosX + 1, spawnPosY - 1), new Position(spawnPosX, spawnPosY - 1));
-        anticlockwisePos.put(new Position(spawnPosX + 1, spawnPosY), new Position(spawnPosX + 1, spawnPosY - 1));
-        anticlockwisePos.put(new Position(spawnPosX + 1, spawnPosY + 1), new Position(spawnPosX + 1, spawnPosY));
-        anticlockwisePos.put(new Position(spawnPosX, spawnPosY + 1), new Position(spawnPosX + 1, spawnPosY + 1));
-        anticlockwisePos.put(new Position(spawnPosX - 1, spawnPosY + 1), new Position(spawnPosX, spawnPosY + 1));
-        anticlockwisePos.put(new Position(spawnPosX - 1, spawnPosY), new Position(spawnPosX - 1, spawnPosY + 1));
-        anticlockwisePos.put(new Position(spawnPosX - 1, spawnPosY - 1), new Position(spawnPosX - 1, spawnPosY));
-
-        return anticlockwisePos;
+        // if the spider isn't on the ring, it is at its spawnLocation. Thus, spider moves up next.
+        if (index == -1)
+            return ring.get(RING_TOP);
+
+        return ring.get(Math.floorMod(index + (isClockwise ? 1 : -1), ring.size()));
     }
 
-    // generates a hashmap of the spider's new locations if it is moving clockwise.
-    private HashMap<Position, Position> generateClockwisePosMap(int spawnPosX, int spawnPosY) {
-        HashMap<Position, Position> clockwisePos = new HashMap<>();
-        clockwisePos.put(new Position(spawnPosX, spawnPosY - 1), new Position(spawnPosX + 1, spawnPosY - 1));
-        clockwisePos.put(new Position(spawnPosX + 1, spawnPosY - 1), new Position(spawnPosX + 1, spawnPosY));
-        clockwisePos.put(new Position(spawnPosX + 1, spawnPosY), new Position(spawnPosX + 1, spawnPosY + 1));
-        clockwisePos.put(new Position(spawnPosX + 1, spawnPosY + 1), new Position(spawnPosX, spawnPosY + 1));
-        clockwisePos.put(new Position(spawnPosX, spawnPosY + 1), new Position(spawnPosX - 1, spawnPosY + 1));
-        clockwisePos.put(new Position(spawnPosX - 1, spawnPosY + 1), new Position(spawnPosX - 1, spawnPosY));
-        clockwisePos.put(new Position(spawnPosX - 1, spawnPosY), new Position(spawnPosX - 1, spawnPosY - 1));
-        clockwisePos.put(new Position(spawnPosX - 1, spawnPosY - 1), new Position(spawnPosX, spawnPosY - 1));
-
-        return clockwisePos;
+    private int ringIndexOf(Position position) {
+        int dx = position.getX() - spawnLocation.getX();
+        int dy = position.getY() - spawnLocation.getY();
+        if (Math.abs(dx) > 1 || Math.abs(dy) > 1)
+            return -1;
+
+        return RING_INDEX[dy + 1][dx + 1];
     }
 
-    private boolean checkIfNextPositionIsAllowed(Position nextPosition, List<Entity> listOfEntities) {
-        return !listOfEntities.stream()
-                              .anyMatch((currEntity) -> currEntity.getCurrentLocation().equals(nextPosition) && !super.canStep(currEntity.getEntityType()));
+    private boolean checkIfNextPositionIsAllowed(Position nextPosition, EntityList listOfEntities) {
+        return super.canStepOnAll(listOfEntities, nextPosition);
     }
 
     /* Getters and Setters */
@@ -141,4 +133,26 @@ public class Spider extends MovingEntity {
     public void setSpawnLocation(Position spawnLocation) {
         this.spawnLocation = spawnLocation;
     }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeBoolean(isClockwise);
+        out.writeInt(xMin);
+        out.writeInt(xMax);
+        out.writeInt(yMin);
+        out.writeInt(yMax);
+        Position.write(out, spawnLocation);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        isClockwise = in.readBoolean();
+        xMin = in.readInt();
+        xMax = in.readInt();
+        yMin = in.readInt();
+        yMax = in.readInt();
+        spawnLocation = Position.read(in);
+    }
 }
@@ -1,11 +1,15 @@
 package dungeonmania.Entities.Moving;
 
-import java.util.HashMap;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
+import dungeonmania.GameConfig;
 import dungeonmania.Statistics;
 import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
 import dungeonmania.Entities.Inventory;
 import dungeonmania.util.Direction;
 import dungeonmania.util.Position;
@@ -14,30 +18,30 @@ public class ZombieToast extends MovingEntity {
     private transient Position spawnLocation;
     private transient Position spawnerLocation;
     
-    public ZombieToast(int x, int y, HashMap<String, String> configMap) {
+    public ZombieToast(int x, int y, GameConfig config) {
         super();
-        this.spawnLocation = new Position(x, y);
+        this.spawnLocation = Position.of(x, y);
         super.setCurrentLocation(spawnLocation);
-        initialise(configMap);
+        initialise(config);
     }
 
-    public ZombieToast(int zombieSpawnerX, int zombieSpawnerY, boolean hasSpawned, HashMap<String, String> configMap) {
+    public ZombieToast(int zombieSpawnerX, int zombieSpawnerY, boolean hasSpawned, GameConfig config) {
         super();
-        this.spawnerLocation = new Position(zombieSpawnerX, zombieSpawnerY);
-        initialise(configMap);
+        this.spawnerLocation = Position.of(zombieSpawnerX, zombieSpawnerY);
+        initialise(config);
     }
 
-    private void initialise(HashMap<String, String> configMap) {
+    private void initialise(GameConfig config) {
         super.setEntityID(UUID.randomUUID().toString());
         super.setInteractable(false);
         super.setEntityType("zombie_toast");
-        super.setEnemyHealth(Double.parseDouble(configMap.get("zombie_health")));
+        super.setEnemyHealth(config.getZombieHealth());
         super.setAlly(false);
         super.setCanStepOn("zombie_toast");
-        super.setEnemyDamage(Double.parseDouble(configMap.get("zombie_attack")));
+        super.setEnemyDamage(config.getZombieAttack());
     }
 
-    public void spawn(List<Entity> listOfEntities) {
+    public void spawn(EntityList listOfEntities) {
         List<Position> spawnablePositions = createListOfCardinalPos(spawnerLocation);
         super.updateAvailablePosList(listOfEntities, spawnablePositions);
 
@@ -46,7 +50,7 @@ public class ZombieToast extends MovingEntity {
         if (spawnablePositions.size() == 0)
             return;
 
-        Position spawnLocation = super.getRandPos(spawnablePositions); 
+        Position spawnLocation = super.getRandPos(listOfEntities, spawnablePositions); 
         setSpawnLocation(spawnLocation);
         listOfEntities.add(this);
 
@@ -54,7 +58,7 @@ public class ZombieToast extends MovingEntity {
     }
 
     @Override
-    public void move(List<Entity> listOfEntities, Direction dir, Player player, Inventory inventory, Statistics statistics) {
+    public void move(EntityList listOfEntities, Direction dir, Player player, Inventory inventory, Statistics statistics) {
         super.moveRandomly(listOfEntities, dir, player, inventory, statistics);
     }
 
@@ -75,4 +79,18 @@ public class ZombieToast extends MovingEntity {
     public void setSpawnerLocation(Position spawnerLocation) {
         this.spawnerLocation = spawnerLocation;
     }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        Position.write(out, spawnLocation);
+        Position.write(out, spawnerLocation);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        spawnLocation = Position.read(in);
+        spawnerLocation = Position.read(in);
+    }
 }
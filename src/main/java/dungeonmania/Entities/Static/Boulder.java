@@ -5,6 +5,8 @@ import java.util.stream.Collectors;
 
 import dungeonmania.util.Position;
 import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
+import dungeonmania.Entities.EntityType;
 import dungeonmania.Entities.Moving.Player;
 import dungeonmania.util.Direction;
 
@@ -15,14 +17,14 @@ public class Boulder extends StaticEntity {
     
     public Boulder(int x, int y) {
         super();
-        super.setCurrentLocation(new Position(x, y));
+        super.setCurrentLocation(Position.of(x, y));
         super.setEntityID(UUID.randomUUID().toString());
         super.setEntityType("boulder");
         super.setInteractable(false);
         this.setCanBlockPlayerMovement(false);
     }
 
-    public void move(List<Entity> listOfEntities, Direction movementDirection, Player player) {
+    public void move(EntityList listOfEntities, Direction movementDirection, Player player) {
         Position current = this.getCurrentLocation();
         Position next = current.translateBy(movementDirection);
        
@@ -31,11 +33,11 @@ public class Boulder extends StaticEntity {
         }
     }
 
-    public boolean legalMove(List<Entity> listOfEntities, Position next) {
-        List<Entity> entitiesHere = listOfEntities.stream().filter(e -> e.getCurrentLocation().equals(next)).collect(Collectors.toList());
+    public boolean legalMove(EntityList listOfEntities, Position next) {
+        List<Entity> entitiesHere = listOfEntities.getEntitiesAt(next);
 
         for (Entity e : entitiesHere) {
-            if (e.getEntityType().equals("wall") || e.getEntityType().equals("boulder")) {
+            if (e.getType() == EntityType.WALL || e.getType() == EntityType.BOULDER) {
                 this.setCanBlockPlayerMovement(true);
                 return false;
             } else {
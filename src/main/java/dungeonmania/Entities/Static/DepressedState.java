@@ -1,12 +1,10 @@
 package dungeonmania.Entities.Static;
 
-import java.util.List;
-
-import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
+import dungeonmania.Entities.EntityType;
 import dungeonmania.Entities.State;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 
 public class DepressedState implements State, Serializable {
     private FloorSwitch floorSwitch;
@@ -16,24 +14,14 @@ public class DepressedState implements State, Serializable {
     }
 
     @Override
-    public void trigger(List<Entity> listOfEntities) {
-        List<Boulder> listOfBoulders = new ArrayList<>();
-
-        for (Entity currEntity : listOfEntities) {
-            if (currEntity.getEntityType().equals("boulder")) {
-                listOfBoulders.add((Boulder)currEntity);
-            }
-        }
-
-        for (Boulder boulder : listOfBoulders) {
-            if (boulder.getCurrentLocation().equals(floorSwitch.getCurrentLocation())) {
-                floorSwitch.setState(floorSwitch.getPressedState());
-            }
+    public void trigger(EntityList listOfEntities) {
+        if (listOfEntities.isTypeAt(floorSwitch.getCurrentLocation(), EntityType.BOULDER)) {
+            floorSwitch.setState(floorSwitch.getPressedState());
         }
     }
 
     @Override
-    public void untrigger(List<Entity> listOfEntities) {
+    public void untrigger(EntityList listOfEntities) {
         
     }
 }
@@ -1,5 +1,8 @@
 package dungeonmania.Entities.Static;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.UUID;
 
 import dungeonmania.util.Position;
@@ -15,7 +18,7 @@ public class Door extends StaticEntity {
         super.setEntityID(UUID.randomUUID().toString());
         super.setInteractable(false);
         super.setEntityType("door");
-        super.setCurrentLocation(new Position(x, y));
+        super.setCurrentLocation(Position.of(x, y));
         
         // remove
         this.key = key;
@@ -37,4 +40,17 @@ public class Door extends StaticEntity {
         return key;
     }
 
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeBoolean(isLocked);
+        out.writeInt(key);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        isLocked = in.readBoolean();
+        key = in.readInt();
+    }
 }
@@ -1,5 +1,8 @@
 package dungeonmania.Entities.Static;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.UUID;
 
 import dungeonmania.util.Position;
@@ -8,7 +11,7 @@ public class Exit extends StaticEntity {
     private boolean exitState;
 
     public Exit(int x, int y) {
-        super.setCurrentLocation(new Position(x, y));
+        super.setCurrentLocation(Position.of(x, y));
         super.setEntityID(UUID.randomUUID().toString());
         super.setEntityType("exit");
         super.setInteractable(false);
@@ -23,4 +26,16 @@ public class Exit extends StaticEntity {
     public void setExitState(boolean exitState) {
         this.exitState = exitState;
     }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeBoolean(exitState);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        exitState = in.readBoolean();
+    }
 }
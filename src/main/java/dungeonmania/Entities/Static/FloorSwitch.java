@@ -1,9 +1,13 @@
 package dungeonmania.Entities.Static;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
 import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
 import dungeonmania.Entities.State;
 import dungeonmania.util.Position;
 
@@ -13,7 +17,7 @@ public class FloorSwitch extends StaticEntity {
     private State state;
 
     public FloorSwitch(int x, int y) {
-        super.setCurrentLocation(new Position(x, y));
+        super.setCurrentLocation(Position.of(x, y));
         super.setEntityID(UUID.randomUUID().toString());
         super.setEntityType("switch");
         super.setInteractable(false);
@@ -24,11 +28,11 @@ public class FloorSwitch extends StaticEntity {
         state = depressedState;
     }
 
-    public void trigger(List<Entity> listOfEntities) {
+    public void trigger(EntityList listOfEntities) {
         state.trigger(listOfEntities);
     }
 
-    public void untrigger(List<Entity> listOfEntities) {
+    public void untrigger(EntityList listOfEntities) {
         state.untrigger(listOfEntities);
     }
 
@@ -54,4 +58,16 @@ public class FloorSwitch extends StaticEntity {
     public State getPressedState() {
         return pressedState;
     }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeBoolean(isTriggered());
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        state = in.readBoolean() ? pressedState : depressedState;
+    }
 }
@@ -1,10 +1,15 @@
 package dungeonmania.Entities.Static;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
+import dungeonmania.Entities.EntityType;
 import dungeonmania.Entities.Moving.Player;
 import dungeonmania.util.Position;
 
@@ -16,7 +21,7 @@ public class Portal extends StaticEntity {
         super.setEntityID(UUID.randomUUID().toString());
         super.setInteractable(false);
         super.setEntityType("portal");
-        super.setCurrentLocation(new Position(x, y));
+        super.setCurrentLocation(Position.of(x, y));
         this.setCanBlockPlayerMovement(false);
         this.colour = colour;
     }
@@ -30,37 +35,35 @@ public class Portal extends StaticEntity {
     }
 
     // Check whether or not player is in a portal location in controller and THEN call this method.
-    public void teleport(List<Entity> listOfEntities, Player player) {
-        for (Entity p : listOfEntities) {
-            if (p.getEntityType().equals("portal")) {
-                if (((Portal) p ).getColour().equals(this.colour) && p != this) {
-                    List<Position> currentAdj = this.getCurrentLocation().getAdjacentPositions();
-                    List<Position> otherAdj = p.getCurrentLocation().getAdjacentPositions();
-                    
-                    if (player.getPrevPos().equals(currentAdj.get(7))) {
-                        if (wallCheck(otherAdj.get(3), listOfEntities)) {
-                            player.setCurrentLocation(findFreePos(otherAdj, listOfEntities, player).get(0));
-                        } else {
-                            player.setCurrentLocation(otherAdj.get(3));
-                        }
-                    } else if (player.getPrevPos().equals(currentAdj.get(3))) {
-                        if (wallCheck(otherAdj.get(7), listOfEntities)) {
-                            player.setCurrentLocation(findFreePos(otherAdj, listOfEntities, player).get(0));
-                        } else {
-                            player.setCurrentLocation(otherAdj.get(7));
-                        }
-                    } else if (player.getPrevPos().equals(currentAdj.get(1))) {
-                        if (wallCheck(otherAdj.get(5), listOfEntities)) {
-                            player.setCurrentLocation(findFreePos(otherAdj, listOfEntities, player).get(0));
-                        } else {
-                            player.setCurrentLocation(otherAdj.get(5));
-                        }
-                    } else if (player.getPrevPos().equals(currentAdj.get(5))) {
-                        if (wallCheck(otherAdj.get(1), listOfEntities)) {
-                            player.setCurrentLocation(findFreePos(otherAdj, listOfEntities, player).get(0));
-                        } else {
-                            player.setCurrentLocation(otherAdj.get(1));
-                        }
+    public void teleport(EntityList listOfEntities, Player player) {
+        for (Entity p : listOfEntities.getEntitiesOfType(EntityType.PORTAL)) {
+            if (((Portal) p ).getColour().equals(this.colour) && p != this) {
+                List<Position> currentAdj = this.getCurrentLocation().getAdjacentPositions();
+                List<Position> otherAdj = p.getCurrentLocation().getAdjacentPositions();
+                
+                if (player.getPrevPos().equals(currentAdj.get(7))) {
+                    if (wallCheck(otherAdj.get(3), listOfEntities)) {
+                        player.setCurrentLocation(findFreePos(otherAdj, listOfEntities, player).get(0));
+                    } else {
+                        player.setCurrentLocation(otherAdj.get(3));
+                    }
+                } else if (player.getPrevPos().equals(currentAdj.get(3))) {
+                    if (wallCheck(otherAdj.get(7), listOfEntities)) {
+                        player.setCurrentLocation(findFreePos(otherAdj, listOfEntities, player).get(0));
+                    } else {
+                        player.setCurrentLocation(otherAdj.get(7));
+                    }
+                } else if (player.getPrevPos().equals(currentAdj.get(1))) {
+                    if (wallCheck(otherAdj.get(5), listOfEntities)) {
+                        player.setCurrentLocation(findFreePos(otherAdj, listOfEntities, player).get(0));
+                    } else {
+                        player.setCurrentLocation(otherAdj.get(5));
+                    }
+                } else if (player.getPrevPos().equals(currentAdj.get(5))) {
+                    if (wallCheck(otherAdj.get(1), listOfEntities)) {
+                        player.setCurrentLocation(findFreePos(otherAdj, listOfEntities, player).get(0));
+                    } else {
+                        player.setCurrentLocation(otherAdj.get(1));
                     }
                 }
             }
@@ -68,18 +71,12 @@ public class Portal extends StaticEntity {
     }
 
     // Checks if any given position is a wall.
-    public boolean wallCheck(Position p, List<Entity> listOfEntities) {
-        for (Entity e : listOfEntities) {
-            if (e.getCurrentLocation().equals(p) && e.getEntityType().equals("wall")) {
-                return true;
-            }
-        }
-
-        return false;
+    public boolean wallCheck(Position p, EntityList listOfEntities) {
+        return listOfEntities.isTypeAt(p, EntityType.WALL);
     }
 
     // Loops through adjacent positions around second portal if wallCheck returns true and finds free position.
-    public List<Position> findFreePos(List<Position> otherAdj, List<Entity> listOfEntities, Player player) {
+    public List<Position> findFreePos(List<Position> otherAdj, EntityList listOfEntities, Player player) {
         List<Position> free = new ArrayList<>();
 
         for (Position p : otherAdj) {
@@ -94,4 +91,16 @@ public class Portal extends StaticEntity {
 
         return free;
     }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeUTF(colour);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        colour = in.readUTF();
+    }
 }
@@ -1,12 +1,10 @@
 package dungeonmania.Entities.Static;
 
-import java.util.List;
-
-import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
+import dungeonmania.Entities.EntityType;
 import dungeonmania.Entities.State;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 
 public class PressedState implements State, Serializable {
     private FloorSwitch floorSwitch;
@@ -16,26 +14,13 @@ public class PressedState implements State, Serializable {
     }
 
     @Override
-    public void trigger(List<Entity> listOfEntities) {
+    public void trigger(EntityList listOfEntities) {
     
     }
 
     @Override
-    public void untrigger(List<Entity> listOfEntities) {
-        List<Boulder> listOfBoulders = new ArrayList<>();
-        boolean isBoulder = false;
-
-        for (Entity currEntity : listOfEntities) {
-            if (currEntity.getEntityType().equals("boulder")) {
-                listOfBoulders.add((Boulder)currEntity);
-            }
-        }
-
-        for (Boulder boulder : listOfBoulders) {
-            if (boulder.getCurrentLocation().equals(floorSwitch.getCurrentLocation())) {
-                isBoulder = true;
-            }
-        }
+    public void untrigger(EntityList listOfEntities) {
+        boolean isBoulder = listOfEntities.isTypeAt(floorSwitch.getCurrentLocation(), EntityType.BOULDER);
 
         if (isBoulder == false) {
             floorSwitch.setState(floorSwitch.getDepressedState());
@@ -1,6 +1,8 @@
 package dungeonmania.Entities.Static;
 
-import java.util.HashMap;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.UUID;
 
 import dungeonmania.util.Position;
@@ -8,12 +10,12 @@ import dungeonmania.util.Position;
 public class SwampTile extends StaticEntity {
     private int movementFactor;
 
-    public SwampTile(int x, int y, HashMap<String, String> configMap, int movementFactor) {
+    public SwampTile(int x, int y, int movementFactor) {
         super();
         super.setEntityID(UUID.randomUUID().toString());
         super.setInteractable(false);
         super.setEntityType("swamp_tile");
-        super.setCurrentLocation(new Position(x, y));
+        super.setCurrentLocation(Position.of(x, y));
         this.setCanBlockPlayerMovement(false);
         this.movementFactor = movementFactor;
         super.setCost(movementFactor != -1 ? movementFactor + 1 : 1);
@@ -22,4 +24,17 @@ public class SwampTile extends StaticEntity {
     public int getMovementFactor() {
         return movementFactor;
     }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeInt(movementFactor);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        movementFactor = in.readInt();
+        super.setCost(movementFactor != -1 ? movementFactor + 1 : 1);
+    }
 }
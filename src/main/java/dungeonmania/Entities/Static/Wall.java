@@ -11,7 +11,7 @@ public class Wall extends StaticEntity {
         super.setEntityID(UUID.randomUUID().toString());
         super.setInteractable(false);
         super.setEntityType("wall");
-        super.setCurrentLocation(new Position(x, y));
+        super.setCurrentLocation(Position.of(x, y));
         this.setCanBlockPlayerMovement(true);
     }
     
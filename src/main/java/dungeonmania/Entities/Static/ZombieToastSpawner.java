@@ -1,10 +1,11 @@
 package dungeonmania.Entities.Static;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
 
+import dungeonmania.GameConfig;
 import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
 import dungeonmania.Entities.Moving.ZombieToast;
 import dungeonmania.util.Position;
 
@@ -12,14 +13,14 @@ public class ZombieToastSpawner extends StaticEntity {
     
     public ZombieToastSpawner(int x, int y) {
         super();
-        super.setCurrentLocation(new Position(x, y));
+        super.setCurrentLocation(Position.of(x, y));
         super.setEntityID(UUID.randomUUID().toString());
         super.setEntityType("zombie_toast_spawner");
         super.setInteractable(true);
     }
 
-    public void spawnZombie(List<Entity> listOfEntities, HashMap<String, String> configMap) {
-        new ZombieToast(getCurrentLocation().getX(), getCurrentLocation().getY(), false, configMap).spawn(listOfEntities);
+    public void spawnZombie(EntityList listOfEntities, GameConfig config) {
+        new ZombieToast(getCurrentLocation().getX(), getCurrentLocation().getY(), false, config).spawn(listOfEntities);
     }
 
 }
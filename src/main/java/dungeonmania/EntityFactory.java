@@ -1,10 +1,10 @@
 package dungeonmania;
 
 import java.io.Serializable;
-import java.util.HashMap;
 
 import dungeonmania.Entities.Entity;
 import dungeonmania.Entities.Collectables.Akey;
+import dungeonmania.Entities.Collectables.Arrow;
 import dungeonmania.Entities.Collectables.Bomb;
 import dungeonmania.Entities.Collectables.InvincibilityPotion;
 import dungeonmania.Entities.Collectables.InvisibilityPotion;
@@ -29,11 +29,11 @@ import dungeonmania.Entities.Static.ZombieToastSpawner;
 
 public class EntityFactory implements Serializable {
 
-    public static Entity createEntity(String type, int x, int y, int key, String colour, HashMap<String, String> configMap, int movementFactor) {
+    public static Entity createEntity(String type, int x, int y, int key, String colour, GameConfig config, int movementFactor) {
         if (type.equalsIgnoreCase("Player")) {
-            return new Player(x, y, configMap);
+            return new Player(x, y, config);
         } else if (type.equalsIgnoreCase("Spider")) {
-            return new Spider(x, y, configMap);
+            return new Spider(x, y, config);
         } else if (type.equalsIgnoreCase("Boulder")) {
             return new Boulder(x, y);
         } else if (type.equalsIgnoreCase("Treasure")) {
@@ -42,22 +42,22 @@ public class EntityFactory implements Serializable {
             return new ZombieToastSpawner(x, y);
         } else if (type.equalsIgnoreCase("wall")) {
             return new Wall(x, y);
-        } else if (type.equalsIgnoreCase("door")) {
+        } else if (type.equalsIgnoreCase("door") || type.equalsIgnoreCase("door_open")) {
             return new Door(x, y, key);
         } else if (type.equalsIgnoreCase("zombie_toast")) {
-            return new ZombieToast(x, y, configMap);
+            return new ZombieToast(x, y, config);
         } else if (type.equalsIgnoreCase("mercenary")) {
-            return new Mercenary(x, y, configMap);
+            return new Mercenary(x, y, config);
         } else if (type.equalsIgnoreCase("Treasure")) {
             return new Treasure(x, y);
         } else if (type.equalsIgnoreCase("sword")) {
-            return new Sword(x, y, Integer.parseInt(configMap.get("sword_durability")), Integer.parseInt(configMap.get("sword_attack")));
+            return new Sword(x, y, config.getSwordDurability(), config.getSwordAttack());
         } else if (type.equalsIgnoreCase("switch")) {
             return new FloorSwitch(x, y);
         } else if (type.equalsIgnoreCase("wood")) {
             return new Wood(x, y);
         } else if (type.equalsIgnoreCase("bomb")) {
-            return new Bomb(x, y, Integer.parseInt(configMap.get("bomb_radius")));
+            return new Bomb(x, y, config.getBombRadius());
         } else if (type.equalsIgnoreCase("key")) {
             return new Akey(x, y, key);
         } else if (type.equalsIgnoreCase("exit")) {
@@ -65,17 +65,19 @@ public class EntityFactory implements Serializable {
         } else if (type.equalsIgnoreCase("portal")) {
             return new Portal(x, y, colour);
         } else if (type.equalsIgnoreCase("hydra")) {
-            return new Hydra(x, y, configMap);
+            return new Hydra(x, y, config);
         } else if (type.equalsIgnoreCase("assassin")) {
-            return new Assassin(x, y, configMap);
+            return new Assassin(x, y, config);
         } else if (type.equalsIgnoreCase("swamp_tile")) {
-            return new SwampTile(x, y, configMap, movementFactor);
+            return new SwampTile(x, y, movementFactor);
         } else if (type.equalsIgnoreCase("sun_stone")) {
             return new SunStone(x, y);
         } else if (type.equalsIgnoreCase("invisibility_potion")) {
             return new InvisibilityPotion(x, y);
         } else if (type.equalsIgnoreCase("invincibility_potion")) {
             return new InvincibilityPotion(x, y);
+        } else if (type.equalsIgnoreCase("arrow")) {
+            return new Arrow(x, y);
         }
         
         return null;
@@ -0,0 +1,282 @@
+package dungeonmania;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * A game's config, parsed once when the game is set up so nothing played during the game reads a number out of a
+ * string. Every value the game plays by must be in the config file, apart from the ones for assassins and hydras, which
+ * are 0 when a config leaves them out.
+ *
+ * The values are kept as they were written in the config file too, which is how a save holds the config.
+ */
+public final class GameConfig implements Serializable {
+    private final Map<String, String> values;
+
+    private final double playerHealth;
+    private final double playerAttack;
+    private final double allyAttack;
+    private final double allyDefence;
+    private final double shieldDefence;
+    private final int swordAttack;
+    private final int swordDurability;
+    private final int bombRadius;
+
+    private final int treasureGoal;
+    private final int enemyGoal;
+
+    private final int spiderSpawnRate;
+    private final double spiderHealth;
+    private final double spiderAttack;
+    private final int zombieSpawnRate;
+    private final double zombieHealth;
+    private final double zombieAttack;
+    private final double mercenaryHealth;
+    private final double mercenaryAttack;
+    private final int bribeAmount;
+    private final int bribeRadius;
+    private final double assassinHealth;
+    private final double assassinAttack;
+    private final int assassinBribeAmount;
+    private final double assassinBribeFailRate;
+    private final double hydraHealth;
+    private final double hydraAttack;
+    private final double hydraHealthIncreaseRate;
+    private final double hydraHealthIncreaseAmount;
+
+    private final Long seed;
+
+    /**
+     * @param values each value of a config file, as the JSON it was written as
+     * @throws IllegalArgumentException if a value the game plays by is missing, or isn't a number it could be
+     */
+    public GameConfig(Map<String, String> values) throws IllegalArgumentException {
+        this.values = Collections.unmodifiableMap(new HashMap<>(values));
+
+        playerHealth = required("player_health");
+        playerAttack = required("player_attack");
+        allyAttack = required("ally_attack");
+        allyDefence = required("ally_defence");
+        shieldDefence = required("shield_defence");
+        swordAttack = wholeNumber("sword_attack", required("sword_attack"));
+        swordDurability = wholeNumber("sword_durability", required("sword_durability"));
+        bombRadius = wholeNumber("bomb_radius", required("bomb_radius"));
+
+        treasureGoal = wholeNumber("treasure_goal", required("treasure_goal"));
+        enemyGoal = wholeNumber("enemy_goal", required("enemy_goal"));
+
+        spiderSpawnRate = wholeNumber("spider_spawn_rate", required("spider_spawn_rate"));
+        spiderHealth = required("spider_health");
+        spiderAttack = required("spider_attack");
+        zombieSpawnRate = wholeNumber("zombie_spawn_rate", required("zombie_spawn_rate"));
+        zombieHealth = required("zombie_health");
+        zombieAttack = required("zombie_attack");
+        mercenaryHealth = required("mercenary_health");
+        mercenaryAttack = required("mercenary_attack");
+        bribeAmount = wholeNumber("bribe_amount", required("bribe_amount"));
+        bribeRadius = wholeNumber("bribe_radius", required("bribe_radius"));
+        assassinHealth = optional("assassin_health");
+        assassinAttack = optional("assassin_attack");
+        assassinBribeAmount = wholeNumber("assassin_bribe_amount", optional("assassin_bribe_amount"));
+        assassinBribeFailRate = chance("assassin_bribe_fail_rate", optional("assassin_bribe_fail_rate"));
+        hydraHealth = optional("hydra_health");
+        hydraAttack = optional("hydra_attack");
+        hydraHealthIncreaseRate = chance("hydra_health_increase_rate", optional("hydra_health_increase_rate"));
+        hydraHealthIncreaseAmount = optional("hydra_health_increase_amount");
+
+        seed = values.get("seed") == null ? null : seed();
+    }
+
+    /**
+     * @param json the text of a config file
+     */
+    public static GameConfig fromJson(String json) throws IllegalArgumentException {
+        JsonObject configJsonObj = JsonParser.parseString(json).getAsJsonObject();
+        Map<String, String> values = new HashMap<>();
+        configJsonObj.keySet().forEach((key) -> values.put(key, configJsonObj.get(key).toString()));
+
+        return new GameConfig(values);
+    }
+
+    /* Parsing */
+
+    private double required(String key) {
+        if (values.get(key) == null) {
+            throw new IllegalArgumentException("The config has no " + key);
+        }
+        return number(key);
+    }
+
+    private double optional(String key) {
+        return values.get(key) == null ? 0 : number(key);
+    }
+
+    private double number(String key) {
+        double value;
+        try {
+            value = Double.parseDouble(values.get(key));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The config's " + key + " isn't a number: " + values.get(key));
+        }
+
+        if (!(value >= 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("The config's " + key + " can't be " + values.get(key));
+        }
+        return value;
+    }
+
+    private int wholeNumber(String key, double value) {
+        if (value != Math.rint(value) || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The config's " + key + " must be a whole number, not " + values.get(key));
+        }
+        return (int) value;
+    }
+
+    private long seed() {
+        try {
+            return Long.parseLong(values.get("seed"));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The config's seed must be a whole number, not " + values.get("seed"));
+        }
+    }
+
+    private double chance(String key, double value) {
+        if (value > 1) {
+            throw new IllegalArgumentException("The config's " + key + " is a chance, so can't be more than 1");
+        }
+        return value;
+    }
+
+    /* Getters */
+
+    /**
+     * @returns each value of the config file, as the JSON it was written as
+     */
+    public Map<String, String> getValues() {
+        return values;
+    }
+
+    public double getPlayerHealth() {
+        return playerHealth;
+    }
+
+    public double getPlayerAttack() {
+        return playerAttack;
+    }
+
+    public double getAllyAttack() {
+        return allyAttack;
+    }
+
+    public double getAllyDefence() {
+        return allyDefence;
+    }
+
+    public double getShieldDefence() {
+        return shieldDefence;
+    }
+
+    public int getSwordAttack() {
+        return swordAttack;
+    }
+
+    public int getSwordDurability() {
+        return swordDurability;
+    }
+
+    public int getBombRadius() {
+        return bombRadius;
+    }
+
+    public int getTreasureGoal() {
+        return treasureGoal;
+    }
+
+    public int getEnemyGoal() {
+        return enemyGoal;
+    }
+
+    public int getSpiderSpawnRate() {
+        return spiderSpawnRate;
+    }
+
+    public double getSpiderHealth() {
+        return spiderHealth;
+    }
+
+    public double getSpiderAttack() {
+        return spiderAttack;
+    }
+
+    public int getZombieSpawnRate() {
+        return zombieSpawnRate;
+    }
+
+    public double getZombieHealth() {
+        return zombieHealth;
+    }
+
+    public double getZombieAttack() {
+        return zombieAttack;
+    }
+
+    public double getMercenaryHealth() {
+        return mercenaryHealth;
+    }
+
+    public double getMercenaryAttack() {
+        return mercenaryAttack;
+    }
+
+    public int getBribeAmount() {
+        return bribeAmount;
+    }
+
+    public int getBribeRadius() {
+        return bribeRadius;
+    }
+
+    public double getAssassinHealth() {
+        return assassinHealth;
+    }
+
+    public double getAssassinAttack() {
+        return assassinAttack;
+    }
+
+    public int getAssassinBribeAmount() {
+        return assassinBribeAmount;
+    }
+
+    public double getAssassinBribeFailRate() {
+        return assassinBribeFailRate;
+    }
+
+    public double getHydraHealth() {
+        return hydraHealth;
+    }
+
+    public double getHydraAttack() {
+        return hydraAttack;
+    }
+
+    public double getHydraHealthIncreaseRate() {
+        return hydraHealthIncreaseRate;
+    }
+
+    public double getHydraHealthIncreaseAmount() {
+        return hydraHealthIncreaseAmount;
+    }
+
+    /**
+     * @returns the seed the config asks games to be played with, or null if it doesn't
+     */
+    public Long getSeed() {
+        return seed;
+    }
+}
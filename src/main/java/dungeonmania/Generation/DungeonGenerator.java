@@ -0,0 +1,289 @@
+package dungeonmania.Generation;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Generates dungeon files in the format ReadJSONFiles reads, for scale tests and benchmarks.
+ *
+ * A dungeon is a width x height map, walled around the edge, with the player in the middle and an exit.
+ * Inside, each tile is a wall with the given density, then the requested numbers of each other entity,
+ * portal pairs, door and key pairs and boulder and switch pairs are scattered over the free tiles, one entity per tile.
+ * The same settings and seed always generate the same dungeon.
+ *
+ * Entities are written out as they are placed, so generating a million of them doesn't hold them all in memory.
+ */
+public class DungeonGenerator {
+    // Types that need more than a position are placed through their own setters.
+    private static final String[] SPECIAL_TYPES = { "player", "exit", "portal", "door", "key", "switch", "boulder" };
+    private static final String[] PORTAL_COLOURS = { "BLUE", "RED", "YELLOW", "GREY", "GREEN" };
+    private static final int SWAMP_MOVEMENT_FACTOR = 2;
+
+    private final int width;
+    private final int height;
+    private final long seed;
+    private double wallDensity = 0;
+    private final Map<String, Integer> counts = new LinkedHashMap<>();
+    private int portalPairs = 0;
+    private int doorKeyPairs = 0;
+    private int boulderSwitchPairs = 0;
+    private JsonObject goals = goal("exit");
+
+    public DungeonGenerator(int width, int height, long seed) {
+        if (width < 3 || height < 3)
+            throw new IllegalArgumentException("A dungeon needs room inside its walls");
+
+        this.width = width;
+        this.height = height;
+        this.seed = seed;
+    }
+
+    /* Goal trees */
+
+    public static JsonObject goal(String name) {
+        JsonObject goal = new JsonObject();
+        goal.addProperty("goal", name);
+        return goal;
+    }
+
+    public static JsonObject and(JsonObject first, JsonObject second) {
+        return complexGoal("AND", first, second);
+    }
+
+    public static JsonObject or(JsonObject first, JsonObject second) {
+        return complexGoal("OR", first, second);
+    }
+
+    private static JsonObject complexGoal(String type, JsonObject first, JsonObject second) {
+        JsonArray subgoals = new JsonArray();
+        subgoals.add(first);
+        subgoals.add(second);
+
+        JsonObject goal = goal(type);
+        goal.add("subgoals", subgoals);
+        return goal;
+    }
+
+    /* Settings */
+
+    // The chance of each tile inside the edge being a wall.
+    public void setWallDensity(double wallDensity) {
+        if (wallDensity < 0 || wallDensity > 1)
+            throw new IllegalArgumentException("Wall density must be between 0 and 1");
+
+        this.wallDensity = wallDensity;
+    }
+
+    // How many entities of a type to scatter, e.g. "mercenary", "zombie_toast_spawner" or "treasure".
+    public void setCount(String type, int count) {
+        for (String special : SPECIAL_TYPES) {
+            if (special.equals(type))
+                throw new IllegalArgumentException("Use the generator's own setting for " + type);
+        }
+        if (count < 0)
+            throw new IllegalArgumentException("Count can't be negative");
+
+        counts.put(type, count);
+    }
+
+    public void setPortalPairs(int portalPairs) {
+        this.portalPairs = portalPairs;
+    }
+
+    // Each door is opened by its own key.
+    public void setDoorKeyPairs(int doorKeyPairs) {
+        this.doorKeyPairs = doorKeyPairs;
+    }
+
+    public void setBoulderSwitchPairs(int boulderSwitchPairs) {
+        this.boulderSwitchPairs = boulderSwitchPairs;
+    }
+
+    public void setGoals(JsonObject goals) {
+        this.goals = goals;
+    }
+
+    /* Output */
+
+    public String generate() {
+        StringWriter out = new StringWriter();
+        try {
+            write(out);
+        } catch (IOException e) {
+            // a StringWriter doesn't throw
+            throw new IllegalStateException(e);
+        }
+
+        return out.toString();
+    }
+
+    public void writeTo(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file)) {
+            write(out);
+        }
+    }
+
+    public void write(Writer out) throws IOException {
+        new Placement(new JsonWriter(out)).write();
+    }
+
+    // One run of the generator: the tiles taken so far and the writer the entities go to.
+    private class Placement {
+        private final JsonWriter json;
+        private final Random random = new Random(seed);
+        private final BitSet taken = new BitSet(width * height);
+        private int free = (width - 2) * (height - 2);
+
+        Placement(JsonWriter json) {
+            this.json = json;
+        }
+
+        void write() throws IOException {
+            json.beginObject();
+            json.name("entities").beginArray();
+
+            for (int x = 0; x < width; x++) {
+                for (int y = 0; y < height; y++) {
+                    if (x == 0 || y == 0 || x == width - 1 || y == height - 1)
+                        entity("wall", x, y);
+                }
+            }
+
+            place("player", width / 2, height / 2);
+            placeRandomly("exit");
+
+            for (int x = 1; x < width - 1; x++) {
+                for (int y = 1; y < height - 1; y++) {
+                    if (!isTaken(x, y) && random.nextDouble() < wallDensity)
+                        place("wall", x, y);
+                }
+            }
+
+            for (Map.Entry<String, Integer> count : counts.entrySet()) {
+                for (int i = 0; i < count.getValue(); i++) {
+                    placeRandomly(count.getKey());
+                }
+            }
+
+            for (int pair = 0; pair < portalPairs; pair++) {
+                String colour = pair < PORTAL_COLOURS.length ? PORTAL_COLOURS[pair] : "PORTAL_" + pair;
+                for (int end = 0; end < 2; end++) {
+                    int cell = takeRandomCell("portal");
+                    json.beginObject();
+                    fields("portal", cell % width, cell / width);
+                    json.name("colour").value(colour);
+                    json.endObject();
+                }
+            }
+
+            for (int pair = 0; pair < doorKeyPairs; pair++) {
+                for (String type : new String[] { "door", "key" }) {
+                    int cell = takeRandomCell(type);
+                    json.beginObject();
+                    fields(type, cell % width, cell / width);
+                    json.name("key").value(pair);
+                    json.endObject();
+                }
+            }
+
+            for (int pair = 0; pair < boulderSwitchPairs; pair++) {
+                placeRandomly("boulder");
+                placeRandomly("switch");
+            }
+
+            json.endArray();
+            json.name("goal-condition");
+            new Gson().toJson(goals, json);
+            json.endObject();
+            json.flush();
+        }
+
+        private boolean isTaken(int x, int y) {
+            return taken.get(y * width + x);
+        }
+
+        private void place(String type, int x, int y) throws IOException {
+            taken.set(y * width + x);
+            free--;
+            entity(type, x, y);
+        }
+
+        private void placeRandomly(String type) throws IOException {
+            int cell = takeRandomCell(type);
+            entity(type, cell % width, cell / width);
+        }
+
+        // Picks a free tile inside the edge and marks it taken.
+        private int takeRandomCell(String type) {
+            if (free <= 0)
+                throw new IllegalArgumentException("No room left in a " + width + "x" + height + " dungeon for another " + type);
+
+            int cell;
+            do {
+                int x = 1 + random.nextInt(width - 2);
+                int y = 1 + random.nextInt(height - 2);
+                cell = y * width + x;
+            } while (taken.get(cell));
+
+            taken.set(cell);
+            free--;
+            return cell;
+        }
+
+        private void entity(String type, int x, int y) throws IOException {
+            json.beginObject();
+            fields(type, x, y);
+            if (type.equals("swamp_tile"))
+                json.name("movement_factor").value(SWAMP_MOVEMENT_FACTOR);
+            json.endObject();
+        }
+
+        private void fields(String type, int x, int y) throws IOException {
+            json.name("type").value(type);
+            json.name("x").value(x);
+            json.name("y").value(y);
+        }
+    }
+
+    /**
+     * Writes a dungeon file: DungeonGenerator <file> <width> <height> <seed> [walls=<density>] [portals=<pairs>]
+     * [doors=<pairs>] [switches=<pairs>] [<type>=<count> ...]
+     */
+    public static void main(String[] args) throws IOException {
+        DungeonGenerator generator = new DungeonGenerator(Integer.parseInt(args[1]), Integer.parseInt(args[2]), Long.parseLong(args[3]));
+        for (int i = 4; i < args.length; i++) {
+            String[] setting = args[i].split("=");
+            switch (setting[0]) {
+                case "walls":
+                    generator.setWallDensity(Double.parseDouble(setting[1]));
+                    break;
+                case "portals":
+                    generator.setPortalPairs(Integer.parseInt(setting[1]));
+                    break;
+                case "doors":
+                    generator.setDoorKeyPairs(Integer.parseInt(setting[1]));
+                    break;
+                case "switches":
+                    generator.setBoulderSwitchPairs(Integer.parseInt(setting[1]));
+                    break;
+                default:
+                    generator.setCount(setting[0], Integer.parseInt(setting[1]));
+            }
+        }
+
+        generator.writeTo(Paths.get(args[0]));
+    }
+}
@@ -1,9 +1,15 @@
 package dungeonmania.Goal;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 
 
 public abstract class BooleanGoal implements Serializable {
+    // Tags written ahead of each goal in a save, so read knows which kind follows.
+    static final int SIMPLE = 0;
+    static final int COMPLEX = 1;
 
     public abstract boolean isComplete();
     public abstract String prettyPrint();
@@ -11,5 +17,29 @@ public abstract class BooleanGoal implements Serializable {
     public abstract void makeComplete(String goal);
     public abstract void makeIncomplete(String goal);
 
-}
+    /**
+     * @returns a goal of its own with the same subgoals, each as complete as this one's
+     */
+    public abstract BooleanGoal copy();
+
+    /**
+     * Writes this goal and its subgoals, including whether each is complete, for a save.
+     */
+    public abstract void write(DataOutput out) throws IOException;
 
+    /**
+     * Reads back a goal written by write.
+     */
+    public static BooleanGoal read(DataInput in) throws IOException {
+        int tag = in.readByte();
+        switch (tag) {
+            case SIMPLE:
+                return SimpleGoal.readSimple(in);
+            case COMPLEX:
+                return ComplexGoal.readComplex(in);
+            default:
+                throw new IOException("Unknown goal tag " + tag);
+        }
+    }
+
+}
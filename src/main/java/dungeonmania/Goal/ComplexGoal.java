@@ -1,5 +1,9 @@
 package dungeonmania.Goal;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 public class ComplexGoal extends BooleanGoal {
 
     private String operation;
@@ -70,6 +74,21 @@ public class ComplexGoal extends BooleanGoal {
         }
     }
 
+    public ComplexGoal copy() {
+        return new ComplexGoal(operation, node1.copy(), node2.copy());
+    }
 
-}
+    public void write(DataOutput out) throws IOException {
+        out.writeByte(COMPLEX);
+        out.writeUTF(operation);
+        node1.write(out);
+        node2.write(out);
+    }
 
+    static ComplexGoal readComplex(DataInput in) throws IOException {
+        String operation = in.readUTF();
+        BooleanGoal node1 = BooleanGoal.read(in);
+        BooleanGoal node2 = BooleanGoal.read(in);
+        return new ComplexGoal(operation, node1, node2);
+    }
+}
@@ -1,5 +1,8 @@
 package dungeonmania.Goal;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 public class SimpleGoal extends BooleanGoal {
 
@@ -33,5 +36,22 @@ public class SimpleGoal extends BooleanGoal {
             return "";
         }
     }
-}
 
+    public SimpleGoal copy() {
+        SimpleGoal copy = new SimpleGoal(name);
+        copy.value = value;
+        return copy;
+    }
+
+    public void write(DataOutput out) throws IOException {
+        out.writeByte(SIMPLE);
+        out.writeUTF(name);
+        out.writeBoolean(value);
+    }
+
+    static SimpleGoal readSimple(DataInput in) throws IOException {
+        SimpleGoal goal = new SimpleGoal(in.readUTF());
+        goal.value = in.readBoolean();
+        return goal;
+    }
+}
@@ -20,6 +20,8 @@ import com.google.gson.JsonParser;
 import dungeonmania.Battling.Battle;
 import dungeonmania.Battling.Round;
 import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
+import dungeonmania.Entities.EntityType;
 import dungeonmania.Entities.Inventory;
 import dungeonmania.Entities.Collectables.Akey;
 import dungeonmania.Entities.Collectables.Bomb;
@@ -42,6 +44,8 @@ import dungeonmania.Entities.Static.Portal;
 import dungeonmania.Entities.Static.SwampTile;
 import dungeonmania.Entities.Static.Wall;
 import dungeonmania.Entities.Static.ZombieToastSpawner;
+import dungeonmania.Metrics.TickMetrics;
+import dungeonmania.Pathfinding.FlowFields;
 import dungeonmania.exceptions.InvalidActionException;
 import dungeonmania.response.models.BattleResponse;
 import dungeonmania.response.models.EntityResponse;
@@ -55,7 +59,7 @@ public class Helper implements Serializable {
     /** 
      *  finds minX, maxX, minY and maxY based on the Dungeon map's coordinates.
      */
-    public static HashMap<String, Integer> findMinAndMaxValues(List<Entity> listOfEntities) {
+    public static HashMap<String, Integer> findMinAndMaxValues(EntityList listOfEntities) {
         HashMap<String, Integer> mapOfMinAndMaxValues = new HashMap<>();
         
         List<Integer> listOfXPositions = listOfEntities.stream()
@@ -123,45 +127,28 @@ public class Helper implements Serializable {
     /**
      * Checks whether or not player is on a portal and then runs teleport method. 
      */
-    public static void portalCheck(List<Entity> listOfEntities, Player player) {
-        for (Entity currEntity: listOfEntities) {
-            if (currEntity.getEntityType().equals("portal") && currEntity.getCurrentLocation().equals(player.getCurrentLocation())) {
+    public static void portalCheck(EntityList listOfEntities, Player player) {
+        for (Entity currEntity : listOfEntities.getEntitiesAt(player.getCurrentLocation())) {
+            if (currEntity.getType() == EntityType.PORTAL) {
                 ((Portal) currEntity).teleport(listOfEntities, player);
             }
-        } 
-        //listOfEntities.stream().filter(e -> (e.getEntityType() == "portal" && e.getCurrentLocation().equals(player.getCurrentLocation()))).forEach(e -> {((Portal) e).teleport(listOfEntities, player);});
+        }
     }
 
     /** 
     * Checks all floor switches if they have a boulder on them. If they do, it updates the state of the switch to trigger it. It they don't it updates
     * the switch to untrigger.
     */
-    public static void boulderCheck(List<Entity> listOfEntities, Statistics statistics) {
-        for (Entity curr : listOfEntities) {
-            if (!curr.getEntityType().equals("switch")) {
-                continue;
-            }
-
+    public static void boulderCheck(EntityList listOfEntities, Statistics statistics) {
+        for (Entity curr : listOfEntities.getEntitiesOfType(EntityType.SWITCH)) {
             FloorSwitch currSwitch = (FloorSwitch) curr;
 
-            boolean pressed = false;
-            for (Entity currBoulder : listOfEntities) {
-                if (!currBoulder.getEntityType().equals("boulder")) {
-                    continue;
-                }
-
-                boolean location = currSwitch.getCurrentLocation().equals(currBoulder.getCurrentLocation());
+            boolean pressed = listOfEntities.isTypeAt(currSwitch.getCurrentLocation(), EntityType.BOULDER);
 
-                if (location && !currSwitch.isTriggered()) {
-                    currSwitch.trigger(listOfEntities);
-                    statistics.addFloorSwitch();
-                    pressed = true;
-                } else if (location) {
-                    pressed = true;
-                }
-            }
-
-            if (currSwitch.isTriggered() && !pressed) {
+            if (pressed && !currSwitch.isTriggered()) {
+                currSwitch.trigger(listOfEntities);
+                statistics.addFloorSwitch();
+            } else if (currSwitch.isTriggered() && !pressed) {
                 currSwitch.untrigger(listOfEntities);
                 statistics.removeFloorSwitch();
             }
@@ -172,12 +159,10 @@ public class Helper implements Serializable {
     /*
      * Creates animation queue for all coins rotating.
      */
-    public static ArrayList<AnimationQueue> getAnimations(List<Entity> listOfEntities) {
+    public static ArrayList<AnimationQueue> getAnimations(EntityList listOfEntities) {
         ArrayList<AnimationQueue> animations = new ArrayList<AnimationQueue>();
-        for (Entity entity : listOfEntities) {
-            if (entity.getEntityType().equals("treasure")) {
-                //animations.add(new AnimationQueue("PostTick", entity.getEntityID(), Arrays.asList("sprite treasure_00", "rotate 0, over 1s", "sprite treasure_03", "rotate 0, over 1s"), true, 10));
-            }
+        for (Entity entity : listOfEntities.getEntitiesOfType(EntityType.TREASURE)) {
+            //animations.add(new AnimationQueue("PostTick", entity.getEntityID(), Arrays.asList("sprite treasure_00", "rotate 0, over 1s", "sprite treasure_03", "rotate 0, over 1s"), true, 10));
         }
         return animations;
     }
@@ -187,9 +172,9 @@ public class Helper implements Serializable {
     /**
      * helper method to move a boulder
      */
-    public static void playerMovesBoulder(Direction movementDirection, Player player, List<Entity> listOfEntities) {
-        for (Entity currEntity : listOfEntities) {
-            if (currEntity.getEntityType().equals("boulder") && currEntity.getCurrentLocation().equals(player.getCurrentLocation().translateBy(movementDirection))) {
+    public static void playerMovesBoulder(Direction movementDirection, Player player, EntityList listOfEntities) {
+        for (Entity currEntity : listOfEntities.getEntitiesAt(player.getCurrentLocation().translateBy(movementDirection))) {
+            if (currEntity.getType() == EntityType.BOULDER) {
                 ((Boulder) currEntity).move(listOfEntities, movementDirection, player);
             }
         }
@@ -198,11 +183,11 @@ public class Helper implements Serializable {
     /**
      * Spawns a spider within the specified box (from minX to maxX and from minY to maxY)
      */
-    public static Spider spawnASpider(int xSpi, int tickCount, Player player, HashMap<String, Integer> mapOfMinAndMaxValues, List<Entity> listOfEntities, HashMap<String, String> configMap) {
+    public static Spider spawnASpider(int xSpi, int tickCount, Player player, HashMap<String, Integer> mapOfMinAndMaxValues, EntityList listOfEntities, GameConfig config) {
         Spider newSpider = null;
         if (xSpi != 0 && tickCount % xSpi == 0) {
             newSpider = new Spider(mapOfMinAndMaxValues.get("minX"), mapOfMinAndMaxValues.get("maxX"),
-                            mapOfMinAndMaxValues.get("minY"), mapOfMinAndMaxValues.get("maxY"), configMap);
+                            mapOfMinAndMaxValues.get("minY"), mapOfMinAndMaxValues.get("maxY"), config);
             newSpider.spawn(listOfEntities, player);
         }
 
@@ -211,19 +196,20 @@ public class Helper implements Serializable {
 
     /**
      * Find and fulfill all burgeoning battles.
-     * @param configMap 
+     * @param config 
      * @param inventory 
      * @param listOfBattles 
      * @param listOfEntities 
      * @param statistics 
      */
-    public static void checkBattles(Player play, HashMap<String, String> configMap, Inventory inventory, List<Battle> listOfBattles, List<Entity> listOfEntities, Statistics statistics) {
+    public static void checkBattles(Player play, GameConfig config, Inventory inventory, List<Battle> listOfBattles, EntityList listOfEntities, Statistics statistics) {
         List<Entity> monstersHere = Helper.getMonstersHere(play, listOfEntities);
         Player player = play;
 
         for (Entity monster : monstersHere) {
             Battle battle = new Battle(player, monster);
-            boolean alive = battle.doBattle(configMap, inventory);
+            boolean alive = battle.doBattle(config, inventory);
+            TickMetrics.battleFought();
 
             listOfBattles.add(battle);
 
@@ -238,8 +224,8 @@ public class Helper implements Serializable {
         }
     }
 
-    public static List<Entity> getMonstersHere(Player player, Collection<Entity> listOfEntities) {
-        List<Entity> entitiesHere = listOfEntities.stream().filter(e -> e.getCurrentLocation().equals(player.getCurrentLocation())).collect(Collectors.toList());
+    public static List<Entity> getMonstersHere(Player player, EntityList listOfEntities) {
+        List<Entity> entitiesHere = listOfEntities.getEntitiesAt(player.getCurrentLocation());
 
         entitiesHere.remove(player);
 
@@ -248,12 +234,9 @@ public class Helper implements Serializable {
     }
 
     // Spawner creates a new zombie
-    public static void processZombieSpawner(List<Entity> listOfEntities, HashMap<String, String> configMap) {
-        List<Entity> originalList = new ArrayList<>(listOfEntities);
-
-        originalList.stream()
-                    .filter(currEntity -> currEntity.getEntityType().equalsIgnoreCase("zombie_toast_spawner"))
-                    .forEach((ent) -> ((ZombieToastSpawner)ent).spawnZombie(listOfEntities, configMap));
+    public static void processZombieSpawner(EntityList listOfEntities, GameConfig config) {
+        listOfEntities.getEntitiesOfType(EntityType.ZOMBIE_TOAST_SPAWNER)
+                      .forEach((ent) -> ((ZombieToastSpawner)ent).spawnZombie(listOfEntities, config));
     }
 
     /*
@@ -274,10 +257,8 @@ public class Helper implements Serializable {
      * Simply checks for any bombs that may be inactive
      *
      */
-    public static void checkBombs(List<Entity> listOfEntities, Player play) {
-        List<Entity> bombs = listOfEntities.stream().filter(e -> e.getEntityType().equals("bomb")).collect(Collectors.toList());
-
-        for (Entity b : bombs) {
+    public static void checkBombs(EntityList listOfEntities, Player play) {
+        for (Entity b : listOfEntities.getEntitiesOfType(EntityType.BOMB)) {
             Bomb bo = (Bomb) b;
             if (bo.isUsed()) {
                 bo.checkBombStatus(listOfEntities, play);
@@ -290,13 +271,13 @@ public class Helper implements Serializable {
         HashMap<String, ArrayList<Integer>> spids = save.getSpider();
 
         for (Entity e : dmc.getListOfEntities()) {
-            if (e.getEntityType().equals("zombie_toast")) {
+            if (e.getType() == EntityType.ZOMBIE_TOAST) {
                 ZombieToast zomb = (ZombieToast) e;
-                zomb.setSpawnLocation(new Position(zombs.get(e.getEntityID()).get(0), zombs.get(e.getEntityID()).get(1)));
-                zomb.setSpawnerLocation(new Position(zombs.get(e.getEntityID()).get(2), zombs.get(e.getEntityID()).get(3)));
-            } else if (e.getEntityType().equals("spider")) {
+                zomb.setSpawnLocation(Position.of(zombs.get(e.getEntityID()).get(0), zombs.get(e.getEntityID()).get(1)));
+                zomb.setSpawnerLocation(Position.of(zombs.get(e.getEntityID()).get(2), zombs.get(e.getEntityID()).get(3)));
+            } else if (e.getType() == EntityType.SPIDER) {
                 Spider spid = (Spider) e;
-                spid.setSpawnLocation(new Position(spids.get(e.getEntityID()).get(0), spids.get(e.getEntityID()).get(1)));
+                spid.setSpawnLocation(Position.of(spids.get(e.getEntityID()).get(0), spids.get(e.getEntityID()).get(1)));
             }
         }
     }
@@ -307,34 +288,17 @@ public class Helper implements Serializable {
      * @returns true if entity2 is cardinally adjacent to entity1, false otherwise.
      */
     public static boolean isCardinallyAdjacent(Entity entity1, Entity entity2) {
-        ArrayList<Position> positions = new ArrayList<>();
-        int x = entity1.getCurrentLocation().getX();
-        int y = entity1.getCurrentLocation().getY();
-
-        positions.add(new Position(x + 1, y));
-        positions.add(new Position(x, y + 1));
-        positions.add(new Position(x - 1, y));
-        positions.add(new Position(x, y - 1));
-
-        Position targetPos = entity2.getCurrentLocation();
-
-        for (Position position : positions) {
-            if (position.equals(targetPos)) {
-                return true;
-            }
-        }
-
-        return false;
+        return Position.isAdjacent(entity1.getCurrentLocation(), entity2.getCurrentLocation());
     }
 
-    public static void destroySpawner(ZombieToastSpawner spawner, Player player, Inventory inventory, List<Entity> listOfEntities, Statistics statistics) throws InvalidActionException {
+    public static void destroySpawner(ZombieToastSpawner spawner, Player player, Inventory inventory, EntityList listOfEntities, Statistics statistics) throws InvalidActionException {
         // Check player is cardinally adjacent to spawner.
         if (!Helper.isCardinallyAdjacent(spawner, player)) {
             throw new InvalidActionException("Player isn't cardinally adjacent to spawner.");
         }
         
         // Check player has sword.
-        if (!inventory.itemExists("sword")) {
+        if (!inventory.itemExists(EntityType.SWORD)) {
             throw new InvalidActionException("Player cannot destroy spawner by willpower alone.");
         }
 
@@ -342,39 +306,44 @@ public class Helper implements Serializable {
         statistics.addSpawnerDestroyed();
     }
 
-    public static void moveEnemy(HashMap<String, String> configMap, Player player, HashMap<String, Integer> mapOfMinAndMaxValues,
-    List<Entity> listOfEntities, Direction movementDirection, Inventory inventory, Statistics statistics, List<Battle> listOfBattles,
-    int tickCount) {
-        int xSpi = Integer.parseInt(configMap.get("spider_spawn_rate"));
-        int xZomb = Integer.parseInt(configMap.get("zombie_spawn_rate"));
+    public static void moveEnemy(GameConfig config, Player player, HashMap<String, Integer> mapOfMinAndMaxValues,
+    EntityList listOfEntities, Direction movementDirection, Inventory inventory, Statistics statistics, List<Battle> listOfBattles,
+    int tickCount, FlowFields flowFields) {
+        int xSpi = config.getSpiderSpawnRate();
+        int xZomb = config.getZombieSpawnRate();
+
+        Spider newSpider = Helper.spawnASpider(xSpi, tickCount, player, mapOfMinAndMaxValues, listOfEntities, config);
 
-        Spider newSpider = Helper.spawnASpider(xSpi, tickCount, player, mapOfMinAndMaxValues, listOfEntities, configMap);
+        // mercenaries all head for the player, so they share fields that are repaired once per tick
+        flowFields.update(player.getCurrentLocation());
         for (Entity currEntity : listOfEntities) {
-            if (currEntity.getEntityType().equalsIgnoreCase("player") || (newSpider != null && currEntity.getEntityID().equalsIgnoreCase(newSpider.getEntityID())))
+            if (currEntity.getType() == EntityType.PLAYER || (newSpider != null && currEntity.getEntityID().equalsIgnoreCase(newSpider.getEntityID())))
                 continue;
 
-            if (currEntity.isMovingEntity()) {
+            if (currEntity instanceof Mercenary) {
+                ((Mercenary) currEntity).move(listOfEntities, movementDirection, player, inventory, statistics, flowFields);
+            } else if (currEntity.isMovingEntity()) {
                 ((MovingEntity) currEntity).move(listOfEntities, movementDirection, player, inventory, statistics);
             }
         }
 
         if (xZomb != 0 && (tickCount % xZomb == 0))
-            Helper.processZombieSpawner(listOfEntities, configMap);
+            Helper.processZombieSpawner(listOfEntities, config);
 
         // Process any battles.
-        Helper.checkBattles(player, configMap, inventory, listOfBattles, listOfEntities, statistics);
+        Helper.checkBattles(player, config, inventory, listOfBattles, listOfEntities, statistics);
 
         Helper.checkBombs(listOfEntities, player);
     }
 
-    public static void checkDoors(List<Entity> listOfEntities, Direction movementDirection, Inventory inventory, Player player) {
-        List<Entity> keys = inventory.getInventory().stream().filter(e -> e.getEntityType().equals("key")).collect(Collectors.toList());
+    public static void checkDoors(EntityList listOfEntities, Direction movementDirection, Inventory inventory, Player player) {
+        List<Entity> keys = inventory.getInventory().stream().filter(e -> e.getType() == EntityType.KEY).collect(Collectors.toList());
 
-        List<Entity> Doors = listOfEntities.stream().filter(e -> (e.getEntityType().equals("door") && 
-                                                                e.getCurrentLocation().equals(player.getCurrentLocation().translateBy(movementDirection))))
+        List<Entity> Doors = listOfEntities.getEntitiesAt(player.getCurrentLocation().translateBy(movementDirection)).stream()
+                                                                .filter(e -> e.getType() == EntityType.DOOR)
                                                                 .collect(Collectors.toList());
 
-        List<Entity> sunStones = inventory.getInventory().stream().filter(e -> e.getEntityType().equals("sun_stone")).collect(Collectors.toList());
+        List<Entity> sunStones = inventory.getInventory().stream().filter(e -> e.getType() == EntityType.SUN_STONE).collect(Collectors.toList());
 
 
         for (Entity d : Doors) {
@@ -0,0 +1,62 @@
+package dungeonmania.Metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of non-negative values whose buckets double in size, so recording a value is a couple of
+ * bit operations and one atomic increment, and any number of threads can record into it without locking.
+ *
+ * Bucket i counts the values up to 2^(minExponent + i); the last bucket also counts every larger value
+ * (it is only reported through the count, as Prometheus' +Inf bucket).
+ */
+public class Histogram {
+    private final int minExponent;
+    private final AtomicLongArray buckets;
+    private final LongAdder sum = new LongAdder();
+    private final LongAdder count = new LongAdder();
+
+    public Histogram(int minExponent, int maxExponent) {
+        this.minExponent = minExponent;
+        this.buckets = new AtomicLongArray(maxExponent - minExponent + 2);
+    }
+
+    public void record(long value) {
+        if (value < 0)
+            value = 0;
+
+        // the smallest e with value <= 2^e
+        int exponent = value <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(value - 1);
+        int bucket = Math.min(Math.max(exponent - minExponent, 0), buckets.length() - 1);
+        buckets.incrementAndGet(bucket);
+        sum.add(value);
+        count.increment();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    // The number of bounded buckets, not counting the last one for larger values.
+    public int getBucketCount() {
+        return buckets.length() - 1;
+    }
+
+    public long getUpperBound(int bucket) {
+        return 1L << (minExponent + bucket);
+    }
+
+    // The number of values up to the bucket's upper bound, as Prometheus buckets count them.
+    public long getCumulativeCount(int bucket) {
+        long total = 0;
+        for (int i = 0; i <= bucket; i++) {
+            total += buckets.get(i);
+        }
+
+        return total;
+    }
+}
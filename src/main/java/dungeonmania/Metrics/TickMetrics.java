@@ -0,0 +1,192 @@
+package dungeonmania.Metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timings and counters for the ticks played by every game in this JVM, and the sessions playing them, read by
+ * /api/metrics.
+ *
+ * Recording is cheap enough to leave on: a phase is timed by passing in the time the last one finished,
+ * so a tick takes one System.nanoTime() per phase, and nothing here allocates or locks.
+ */
+public class TickMetrics {
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    // 64ns up to about 1s
+    private static final Map<TickPhase, Histogram> PHASES = new EnumMap<>(TickPhase.class);
+    static {
+        for (TickPhase phase : TickPhase.values()) {
+            PHASES.put(phase, new Histogram(6, 30));
+        }
+    }
+
+    private static final Histogram TICK_ENTITIES = new Histogram(0, 24);
+    private static final Histogram TICK_ALLOCATED_BYTES = new Histogram(10, 34);
+    private static final LongAdder BATTLES = new LongAdder();
+    private static final LongAdder PATH_CELLS_SETTLED = new LongAdder();
+
+    private static final LongAdder RESIDENT_SESSIONS = new LongAdder();
+    private static final LongAdder PASSIVATED_SESSIONS = new LongAdder();
+    private static final LongAdder SESSIONS_PASSIVATED = new LongAdder();
+    private static final LongAdder SESSIONS_RESTORED = new LongAdder();
+
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS = allocationBean();
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean))
+            return null;
+
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) bean;
+        return allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled() ? allocations : null;
+    }
+
+    /* Recording */
+
+    /**
+     * Records a phase as having run from phaseStarted until now.
+     * @returns now, which is when the next phase starts
+     */
+    public static long record(TickPhase phase, long phaseStarted) {
+        long now = System.nanoTime();
+        PHASES.get(phase).record(now - phaseStarted);
+        return now;
+    }
+
+    /**
+     * @returns the bytes this thread has allocated so far, or -1 if the JVM doesn't count them
+     */
+    public static long allocatedBytes() {
+        return ALLOCATIONS == null ? -1 : ALLOCATIONS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Records a finished tick.
+     * @param allocatedAtStart what allocatedBytes() returned when the tick started
+     * @param entities the number of entities on the map, which is how many each scan of it looks at
+     */
+    public static void tickFinished(long allocatedAtStart, int entities) {
+        TICK_ENTITIES.record(entities);
+        if (allocatedAtStart >= 0)
+            TICK_ALLOCATED_BYTES.record(allocatedBytes() - allocatedAtStart);
+    }
+
+    public static void battleFought() {
+        BATTLES.increment();
+    }
+
+    public static void pathCellsSettled(int cells) {
+        if (cells > 0)
+            PATH_CELLS_SETTLED.add(cells);
+    }
+
+    /**
+     * Records sessions becoming resident or passivated, or leaving either.
+     */
+    public static void sessionsChanged(int resident, int passivated) {
+        RESIDENT_SESSIONS.add(resident);
+        PASSIVATED_SESSIONS.add(passivated);
+    }
+
+    public static void sessionPassivated() {
+        SESSIONS_PASSIVATED.increment();
+    }
+
+    public static void sessionRestored() {
+        SESSIONS_RESTORED.increment();
+    }
+
+    /* Reading */
+
+    public static Histogram getPhase(TickPhase phase) {
+        return PHASES.get(phase);
+    }
+
+    public static Histogram getTickEntities() {
+        return TICK_ENTITIES;
+    }
+
+    public static Histogram getTickAllocatedBytes() {
+        return TICK_ALLOCATED_BYTES;
+    }
+
+    public static long getBattles() {
+        return BATTLES.sum();
+    }
+
+    public static long getPathCellsSettled() {
+        return PATH_CELLS_SETTLED.sum();
+    }
+
+    public static long getResidentSessions() {
+        return RESIDENT_SESSIONS.sum();
+    }
+
+    public static long getPassivatedSessions() {
+        return PASSIVATED_SESSIONS.sum();
+    }
+
+    /**
+     * @returns every metric in the Prometheus text exposition format, with times in seconds
+     */
+    public static String scrape() {
+        StringBuilder out = new StringBuilder();
+
+        header(out, "dungeonmania_tick_phase_seconds", "histogram", "Time spent in each phase of a tick");
+        for (TickPhase phase : TickPhase.values()) {
+            histogram(out, "dungeonmania_tick_phase_seconds", "phase=\"" + phase.getLabel() + "\",", PHASES.get(phase), NANOS_PER_SECOND);
+        }
+
+        header(out, "dungeonmania_tick_entities", "histogram", "Entities on the map at the end of each tick");
+        histogram(out, "dungeonmania_tick_entities", "", TICK_ENTITIES, 1);
+
+        if (ALLOCATIONS != null) {
+            header(out, "dungeonmania_tick_allocated_bytes", "histogram", "Bytes allocated by each tick");
+            histogram(out, "dungeonmania_tick_allocated_bytes", "", TICK_ALLOCATED_BYTES, 1);
+        }
+
+        header(out, "dungeonmania_battles_total", "counter", "Battles fought");
+        out.append("dungeonmania_battles_total ").append(getBattles()).append('\n');
+
+        header(out, "dungeonmania_path_cells_settled_total", "counter", "Cells settled by the mercenaries' distance fields");
+        out.append("dungeonmania_path_cells_settled_total ").append(getPathCellsSettled()).append('\n');
+
+        header(out, "dungeonmania_sessions", "gauge", "Sessions whose game is resident in the heap, or passivated to disk");
+        out.append("dungeonmania_sessions{state=\"resident\"} ").append(getResidentSessions()).append('\n');
+        out.append("dungeonmania_sessions{state=\"passivated\"} ").append(getPassivatedSessions()).append('\n');
+
+        header(out, "dungeonmania_sessions_passivated_total", "counter", "Sessions passivated to disk");
+        out.append("dungeonmania_sessions_passivated_total ").append(SESSIONS_PASSIVATED.sum()).append('\n');
+
+        header(out, "dungeonmania_sessions_restored_total", "counter", "Passivated sessions restored to the heap");
+        out.append("dungeonmania_sessions_restored_total ").append(SESSIONS_RESTORED.sum()).append('\n');
+
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    // labels is either empty or a list of labels ending in a comma, so "le" can follow it
+    private static void histogram(StringBuilder out, String name, String labels, Histogram histogram, double unit) {
+        // read the count first, so no bucket shows more values than the count
+        long count = histogram.getCount();
+        long sum = histogram.getSum();
+
+        for (int bucket = 0; bucket < histogram.getBucketCount(); bucket++) {
+            out.append(name).append("_bucket{").append(labels).append("le=\"").append(histogram.getUpperBound(bucket) / unit)
+               .append("\"} ").append(Math.min(histogram.getCumulativeCount(bucket), count)).append('\n');
+        }
+        out.append(name).append("_bucket{").append(labels).append("le=\"+Inf\"} ").append(count).append('\n');
+
+        String bareLabels = labels.isEmpty() ? "" : "{" + labels.substring(0, labels.length() - 1) + "}";
+        out.append(name).append("_sum").append(bareLabels).append(' ').append(sum / unit).append('\n');
+        out.append(name).append("_count").append(bareLabels).append(' ').append(count).append('\n');
+    }
+}
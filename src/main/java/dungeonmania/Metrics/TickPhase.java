@@ -0,0 +1,23 @@
+package dungeonmania.Metrics;
+
+import java.util.Locale;
+
+/**
+ * The steps of a tick, in the order they run. Movement ticks and item ticks run different steps before the enemies move.
+ */
+public enum TickPhase {
+    PLAYER_MOVES_BOULDER,
+    CHECK_DOORS,
+    PLAYER_MOVE,
+    BOULDER_CHECK,
+    CHECK_BATTLES,
+    PORTAL_CHECK,
+    USE_ITEM,
+    CHECK_BOMBS,
+    MOVE_ENEMY,
+    CREATE_RESPONSE;
+
+    public String getLabel() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,125 @@
+package dungeonmania.Pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of grid cells (0 to capacity - 1) ordered by a long key.
+ * A cell can only be in the heap once; its key can be changed or it can be removed in place.
+ */
+public class CellHeap {
+    private final int[] heap;
+    private final int[] slot;
+    private final long[] key;
+    private int size = 0;
+
+    public CellHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.slot = new int[capacity];
+        this.key = new long[capacity];
+        Arrays.fill(slot, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int cell) {
+        return slot[cell] != -1;
+    }
+
+    public long peekKey() {
+        return key[heap[0]];
+    }
+
+    /**
+     * Adds the cell with the given key, or lowers its key if it is already queued.
+     */
+    public void insertOrDecrease(int cell, long newKey) {
+        if (slot[cell] == -1) {
+            heap[size] = cell;
+            slot[cell] = size;
+            key[cell] = newKey;
+            siftUp(size++);
+        } else if (newKey < key[cell]) {
+            key[cell] = newKey;
+            siftUp(slot[cell]);
+        }
+    }
+
+    /**
+     * Adds the cell with the given key, or changes its key if it is already queued.
+     */
+    public void update(int cell, long newKey) {
+        if (newKey <= key[cell] || slot[cell] == -1) {
+            insertOrDecrease(cell, newKey);
+        } else {
+            key[cell] = newKey;
+            siftDown(slot[cell]);
+        }
+    }
+
+    /**
+     * Removes and returns the cell with the smallest key.
+     */
+    public int poll() {
+        int top = heap[0];
+        remove(top);
+        return top;
+    }
+
+    /**
+     * Removes the cell if it is queued.
+     */
+    public void remove(int cell) {
+        int i = slot[cell];
+        if (i == -1)
+            return;
+
+        slot[cell] = -1;
+        size--;
+
+        if (i < size) {
+            int moved = heap[size];
+            heap[i] = moved;
+            slot[moved] = i;
+            siftDown(i);
+            if (slot[moved] == i)
+                siftUp(i);
+        }
+    }
+
+    private void siftUp(int i) {
+        int cell = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (key[heap[parent]] <= key[cell])
+                break;
+
+            heap[i] = heap[parent];
+            slot[heap[i]] = i;
+            i = parent;
+        }
+
+        heap[i] = cell;
+        slot[cell] = i;
+    }
+
+    private void siftDown(int i) {
+        int cell = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && key[heap[child + 1]] < key[heap[child]])
+                child++;
+            if (key[cell] <= key[heap[child]])
+                break;
+
+            heap[i] = heap[child];
+            slot[heap[i]] = i;
+            i = child;
+        }
+
+        heap[i] = cell;
+        slot[cell] = i;
+    }
+}
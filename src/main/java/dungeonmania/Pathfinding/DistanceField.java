@@ -0,0 +1,156 @@
+package dungeonmania.Pathfinding;
+
+import java.util.Arrays;
+
+import dungeonmania.Entities.EntityList;
+import dungeonmania.Metrics.TickMetrics;
+import dungeonmania.util.Position;
+
+/**
+ * The cost of reaching a goal from every cell of a grid. Anything hunting the goal
+ * just steps onto its neighbour closest to the goal, so one field serves every hunter.
+ *
+ * The field is kept between ticks and repaired rather than rebuilt (Lifelong Planning A* without a heuristic):
+ * dist holds each cell's last known distance and lookahead the best distance its neighbours offer now.
+ * A cell where the two disagree is queued, and cells are only settled far enough out to answer the hunters
+ * that ask, so a tile that changes costs work near the tile and a hunter far from it costs nothing.
+ */
+public class DistanceField {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final PathGrid grid;
+    private final int[] dist;
+    private final int[] lookahead;
+    private final CellHeap queue;
+    private final int[] neighbours = new int[4];
+    private final int[] adjacent = new int[4];
+    private int goal;
+
+    public DistanceField(PathGrid grid, Position goal) {
+        this.grid = grid;
+        this.dist = new int[grid.size()];
+        this.lookahead = new int[grid.size()];
+        this.queue = new CellHeap(grid.size());
+        Arrays.fill(dist, UNREACHABLE);
+        Arrays.fill(lookahead, UNREACHABLE);
+
+        this.goal = grid.indexOf(goal);
+        lookahead[this.goal] = 0;
+        queue.insertOrDecrease(this.goal, 0);
+    }
+
+    /**
+     * @returns true if the position is on this field's grid.
+     */
+    public boolean covers(Position position) {
+        return grid.indexOf(position) != -1;
+    }
+
+    /**
+     * Moves the goal to a new position on the grid.
+     */
+    public void moveGoal(Position position) {
+        int previous = goal;
+        goal = grid.indexOf(position);
+        if (previous == goal)
+            return;
+
+        updateCell(previous);
+        lookahead[goal] = 0;
+        updateCell(goal);
+    }
+
+    /**
+     * Picks up a change to what is on the tile at the given position, which must be on the grid.
+     */
+    public void tileChanged(Position position, EntityList listOfEntities) {
+        if (grid.refresh(position, listOfEntities))
+            updateCell(grid.indexOf(position));
+    }
+
+    /**
+     * @returns the position a hunter at the given position should step onto next,
+     * or null if it is already at the goal or can't reach it.
+     */
+    public Position nextStepFrom(Position from) {
+        int cell = grid.indexOf(from);
+        if (cell == -1)
+            return null;
+
+        settle(cell);
+        if (dist[cell] == 0 || dist[cell] == UNREACHABLE)
+            return null;
+
+        return grid.positionOf(closestNeighbour(cell));
+    }
+
+    /**
+     * Settles queued cells until the given cell's distance is exact, along with every cell closer to the goal.
+     */
+    private void settle(int cell) {
+        int settled = 0;
+        while (!queue.isEmpty()
+               && (queue.peekKey() <= Math.min(dist[cell], lookahead[cell]) || dist[cell] != lookahead[cell])) {
+            int u = queue.poll();
+            settled++;
+            if (dist[u] > lookahead[u]) {
+                dist[u] = lookahead[u];
+            } else {
+                // u got further away, so everything that went through it has to be looked at again
+                dist[u] = UNREACHABLE;
+                updateCell(u);
+            }
+
+            int count = grid.neighbours(u, neighbours);
+            for (int i = 0; i < count; i++) {
+                updateCell(neighbours[i]);
+            }
+        }
+
+        TickMetrics.pathCellsSettled(settled);
+    }
+
+    // recomputes a cell's lookahead and queues it if it no longer agrees with its distance
+    private void updateCell(int cell) {
+        if (cell != goal)
+            lookahead[cell] = bestThroughNeighbours(cell);
+
+        if (dist[cell] != lookahead[cell]) {
+            queue.update(cell, Math.min(dist[cell], lookahead[cell]));
+        } else {
+            queue.remove(cell);
+        }
+    }
+
+    private int bestThroughNeighbours(int cell) {
+        int cost = grid.getCost(cell);
+        if (cost == PathGrid.BLOCKED)
+            return UNREACHABLE;
+
+        int count = grid.neighbours(cell, adjacent);
+        int best = UNREACHABLE;
+        for (int i = 0; i < count; i++) {
+            int d = dist[adjacent[i]];
+            if (d != UNREACHABLE)
+                best = Math.min(best, d + cost);
+        }
+
+        return best;
+    }
+
+    /**
+     * @returns the neighbour of the given cell with the smallest distance.
+     * Ties go to the first neighbour in the order left, right, up, down.
+     */
+    private int closestNeighbour(int cell) {
+        int best = -1;
+        int count = grid.neighbours(cell, adjacent);
+        for (int i = 0; i < count; i++) {
+            int v = adjacent[i];
+            if (best == -1 || dist[v] < dist[best])
+                best = v;
+        }
+
+        return best;
+    }
+}
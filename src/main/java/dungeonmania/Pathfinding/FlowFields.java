@@ -0,0 +1,50 @@
+package dungeonmania.Pathfinding;
+
+import java.util.EnumMap;
+import java.util.Set;
+
+import dungeonmania.Entities.EntityList;
+import dungeonmania.Entities.EntityType;
+import dungeonmania.Entities.Moving.MovingEntity;
+import dungeonmania.util.Position;
+
+/**
+ * Distance fields towards one goal, created the first time a hunter asks for one.
+ * Hunters that follow the same step rules share a field.
+ *
+ * Nothing that moves during the enemy phase blocks a hunter or changes a tile's cost,
+ * so the fields only need updating once a tick, before the hunters move. Between ticks they are
+ * repaired from the tiles the entity list reports as changed instead of being rebuilt.
+ */
+public class FlowFields {
+    private final EntityList listOfEntities;
+    private final EnumMap<EntityType, DistanceField> fields = new EnumMap<>(EntityType.class);
+    private Position goal;
+
+    public FlowFields(EntityList listOfEntities, Position goal) {
+        this.listOfEntities = listOfEntities;
+        this.goal = goal;
+    }
+
+    /**
+     * Brings every field up to date with the tiles that changed since the last update
+     * and moves their goal to the given position.
+     */
+    public void update(Position goal) {
+        this.goal = goal;
+        Set<Position> changed = listOfEntities.takeChangedTiles();
+
+        // a field whose grid no longer spans the map is thrown away and rebuilt on demand
+        fields.values().removeIf(field -> !field.covers(goal) || !changed.stream().allMatch(field::covers));
+        for (DistanceField field : fields.values()) {
+            for (Position tile : changed) {
+                field.tileChanged(tile, listOfEntities);
+            }
+            field.moveGoal(goal);
+        }
+    }
+
+    public DistanceField getField(MovingEntity hunter) {
+        return fields.computeIfAbsent(hunter.getStepRules(), rules -> new DistanceField(PathGrid.build(listOfEntities, rules), goal));
+    }
+}
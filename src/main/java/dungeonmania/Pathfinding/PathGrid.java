@@ -0,0 +1,141 @@
+package dungeonmania.Pathfinding;
+
+import java.util.List;
+
+import dungeonmania.StepOnJson;
+import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
+import dungeonmania.Entities.EntityType;
+import dungeonmania.util.Position;
+
+/**
+ * A dense snapshot of the map as one moving entity sees it: the cost of stepping onto each cell,
+ * or BLOCKED if something on the cell can't be stepped on.
+ *
+ * Cells are stored column by column, so the cell at (x, y) is at index (x - minX) * height + (y - minY).
+ */
+public class PathGrid {
+    public static final int BLOCKED = -1;
+
+    private final int minX;
+    private final int minY;
+    private final int width;
+    private final int height;
+    private final int[] cost;
+    private final EntityType stepRules;
+
+    private PathGrid(int minX, int minY, int width, int height, EntityType stepRules) {
+        this.stepRules = stepRules;
+        this.minX = minX;
+        this.minY = minY;
+        this.width = width;
+        this.height = height;
+        this.cost = new int[width * height];
+    }
+
+    /**
+     * Builds the grid for movers that follow the given step rules. The grid spans every entity on the map,
+     * plus a margin of one tile above and to the left of it.
+     */
+    public static PathGrid build(EntityList listOfEntities, EntityType stepRules) {
+        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+        for (Entity entity : listOfEntities) {
+            Position position = entity.getCurrentLocation();
+            minX = Math.min(minX, position.getX());
+            maxX = Math.max(maxX, position.getX());
+            minY = Math.min(minY, position.getY());
+            maxY = Math.max(maxY, position.getY());
+        }
+
+        PathGrid grid = new PathGrid(minX - 1, minY - 1, maxX - minX + 2, maxY - minY + 2, stepRules);
+        for (int i = 0; i < grid.cost.length; i++) {
+            grid.cost[i] = 1;
+        }
+
+        // a cell costs as much as the most expensive entity on it
+        for (Entity entity : listOfEntities) {
+            int cell = grid.indexOf(entity.getCurrentLocation());
+            if (cell == -1 || grid.cost[cell] == BLOCKED) {
+                continue;
+            } else if (!StepOnJson.canStep(stepRules, entity.getType())) {
+                grid.cost[cell] = BLOCKED;
+            } else {
+                grid.cost[cell] = Math.max(grid.cost[cell], entity.getCost());
+            }
+        }
+
+        return grid;
+    }
+
+    /**
+     * Recomputes the cost of the cell at the given position from what is on it now.
+     * @returns true if the cost changed.
+     */
+    public boolean refresh(Position position, EntityList listOfEntities) {
+        int cell = indexOf(position);
+        int newCost = costOf(listOfEntities.getEntitiesAt(position));
+        if (cost[cell] == newCost)
+            return false;
+
+        cost[cell] = newCost;
+        return true;
+    }
+
+    private int costOf(List<Entity> entities) {
+        int result = 1;
+        for (Entity entity : entities) {
+            if (!StepOnJson.canStep(stepRules, entity.getType()))
+                return BLOCKED;
+
+            result = Math.max(result, entity.getCost());
+        }
+
+        return result;
+    }
+
+    /**
+     * @returns the index of the cell at the given position, or -1 if it is outside the grid.
+     */
+    public int indexOf(Position position) {
+        int x = position.getX() - minX;
+        int y = position.getY() - minY;
+        if (x < 0 || x >= width || y < 0 || y >= height)
+            return -1;
+
+        return x * height + y;
+    }
+
+    public Position positionOf(int cell) {
+        return Position.of(minX + cell / height, minY + cell % height);
+    }
+
+    public int size() {
+        return cost.length;
+    }
+
+    public int getCost(int cell) {
+        return cost[cell];
+    }
+
+    /**
+     * Writes the cardinally adjacent cells of the given cell into neighbours (left, right, up, down),
+     * skipping any that fall outside the grid.
+     * @returns the number of neighbours written.
+     */
+    public int neighbours(int cell, int[] neighbours) {
+        int x = cell / height;
+        int y = cell % height;
+        int count = 0;
+
+        if (x > 0)
+            neighbours[count++] = cell - height;
+        if (x < width - 1)
+            neighbours[count++] = cell + height;
+        if (y > 0)
+            neighbours[count++] = cell - 1;
+        if (y < height - 1)
+            neighbours[count++] = cell + 1;
+
+        return count;
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 
 import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityType;
 import dungeonmania.Entities.Moving.Spider;
 import dungeonmania.Entities.Moving.ZombieToast;
 
@@ -47,22 +48,22 @@ public class Save implements Serializable {
     }
 
     public void CreateZombieAndSpiderPositions() {
-        for (Entity e : dmc.getListOfEntities()) {
-            if (e.getEntityType().equals("zombie_toast")) {
-                ZombieToast zomb = (ZombieToast) e;
-                Zombs.put(zomb.getEntityID(), new ArrayList<Integer>(Arrays.asList(
-                                                                            zomb.getSpawnLocation().getX(), 
-                                                                            zomb.getSpawnLocation().getY(),
-                                                                            zomb.getSpawnerLocation().getX(),
-                                                                            zomb.getSpawnerLocation().getY()
-                                                                            )));
-            } else if (e.getEntityType().equals("spider")) {
-                Spider spider = (Spider) e;
-                Spids.put(spider.getEntityID(), new ArrayList<Integer>(Arrays.asList(
-                                                                            spider.getSpawnLocation().getX(),
-                                                                            spider.getSpawnLocation().getY()
-                                                                            )));
-            }
+        for (Entity e : dmc.getListOfEntities().getEntitiesOfType(EntityType.ZOMBIE_TOAST)) {
+            ZombieToast zomb = (ZombieToast) e;
+            Zombs.put(zomb.getEntityID(), new ArrayList<Integer>(Arrays.asList(
+                                                                        zomb.getSpawnLocation().getX(), 
+                                                                        zomb.getSpawnLocation().getY(),
+                                                                        zomb.getSpawnerLocation().getX(),
+                                                                        zomb.getSpawnerLocation().getY()
+                                                                        )));
+        }
+
+        for (Entity e : dmc.getListOfEntities().getEntitiesOfType(EntityType.SPIDER)) {
+            Spider spider = (Spider) e;
+            Spids.put(spider.getEntityID(), new ArrayList<Integer>(Arrays.asList(
+                                                                        spider.getSpawnLocation().getX(),
+                                                                        spider.getSpawnLocation().getY()
+                                                                        )));
         }
     }
 
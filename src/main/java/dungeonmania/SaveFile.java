@@ -0,0 +1,364 @@
+package dungeonmania;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import dungeonmania.Battling.Battle;
+import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
+import dungeonmania.Entities.EntityType;
+import dungeonmania.Entities.Inventory;
+import dungeonmania.Entities.Moving.MovingEntity;
+import dungeonmania.Entities.Moving.Player;
+import dungeonmania.util.GameRandom;
+import dungeonmania.util.Position;
+
+/**
+ * Reads and writes a saved game in a compact binary format, in place of serializing the whole controller.
+ *
+ * A save is a header (a magic number and the format version), the game's fields, a table of the entity types it uses,
+ * then a record per entity: its type as an index into the table, its id, its location as the distance from the entity
+ * before it, and whatever writeState writes for its class. Entities on the map come first, then the inventory, then
+ * the enemy of each battle followed by the battle, and lastly the statistics.
+ *
+ * Nothing that comes from the config is written for an entity. Entities are made again by EntityFactory from the saved
+ * config, and readState then restores what has changed since.
+ */
+public final class SaveFile {
+    // "DMSV"
+    static final int MAGIC = 0x444D5356;
+    static final int VERSION = 1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private SaveFile() {
+    }
+
+    /**
+     * @returns true if the stream starts with this format's magic number. Reads (and doesn't reset) four bytes.
+     */
+    public static boolean isSaveFile(DataInput in) throws IOException {
+        return in.readInt() == MAGIC;
+    }
+
+    /**
+     * Writes the game to the stream. The stream is flushed but left open.
+     */
+    public static void write(DungeonManiaController dmc, OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, BUFFER_SIZE));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+
+        writeNullableUTF(out, dmc.getDungeonId());
+        writeNullableUTF(out, dmc.getDungeonName());
+        writeNullableUTF(out, dmc.getConfigName());
+        writeVarInt(out, dmc.getTickCount());
+
+        GameRandom random = dmc.getListOfEntities().getRandom();
+        out.writeLong(random.getSeed());
+        out.writeLong(random.getState());
+
+        writeStrings(out, dmc.getConfig().getValues());
+        HashMap<String, Integer> minAndMax = dmc.getMapOfMinAndMaxValues();
+        writeVarInt(out, minAndMax.size());
+        for (Map.Entry<String, Integer> entry : minAndMax.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue());
+        }
+        writeVarInt(out, dmc.getBuildables().size());
+        for (String buildable : dmc.getBuildables()) {
+            out.writeUTF(buildable);
+        }
+
+        EntityWriter entities = new EntityWriter(out);
+        for (Entity entity : dmc.getListOfEntities()) {
+            entities.addType(entity);
+        }
+        for (Entity item : dmc.getInventory().getInventory()) {
+            entities.addType(item);
+        }
+        for (Battle battle : dmc.getListOfBattles()) {
+            entities.addType(battle.getEnemy());
+        }
+        entities.writeTypes();
+
+        writeVarInt(out, dmc.getListOfEntities().size());
+        for (Entity entity : dmc.getListOfEntities()) {
+            entities.write(entity);
+        }
+        writeVarInt(out, dmc.getInventory().getInventory().size());
+        for (Entity item : dmc.getInventory().getInventory()) {
+            entities.write(item);
+        }
+        writeVarInt(out, dmc.getListOfBattles().size());
+        for (Battle battle : dmc.getListOfBattles()) {
+            entities.write(battle.getEnemy());
+            battle.write(out);
+        }
+
+        out.writeBoolean(dmc.getStatistics() != null);
+        if (dmc.getStatistics() != null) {
+            dmc.getStatistics().write(out);
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Reads a game written by write, as a new controller. The stream is left open.
+     */
+    public static DungeonManiaController read(InputStream stream) throws IOException {
+        return readFrom(new DataInputStream(new BufferedInputStream(stream, BUFFER_SIZE)));
+    }
+
+    /**
+     * Reads a game written by write from input that needs no buffering, such as a save already in memory.
+     */
+    public static DungeonManiaController readFrom(DataInput in) throws IOException {
+        if (!isSaveFile(in)) {
+            throw new IOException("Not a saved game");
+        }
+        int version = in.readUnsignedShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported save version " + version);
+        }
+
+        String dungeonId = readNullableUTF(in);
+        String dungeonName = readNullableUTF(in);
+        String configName = readNullableUTF(in);
+        int tickCount = readVarInt(in);
+
+        EntityList listOfEntities = new EntityList();
+        listOfEntities.setRandom(new GameRandom(in.readLong(), in.readLong()));
+
+        GameConfig config;
+        try {
+            config = new GameConfig(readStrings(in));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("The save's config can't be played", e);
+        }
+        HashMap<String, Integer> minAndMax = new HashMap<>();
+        for (int i = readVarInt(in); i > 0; i--) {
+            minAndMax.put(in.readUTF(), in.readInt());
+        }
+        List<String> buildables = new ArrayList<>();
+        for (int i = readVarInt(in); i > 0; i--) {
+            buildables.add(in.readUTF());
+        }
+
+        EntityReader entities = new EntityReader(in, config);
+        for (int i = readVarInt(in); i > 0; i--) {
+            listOfEntities.restore(entities.read());
+        }
+        Inventory inventory = new Inventory();
+        for (int i = readVarInt(in); i > 0; i--) {
+            inventory.addItem(entities.read());
+        }
+
+        Player player = (Player) listOfEntities.getFirstOfType(EntityType.PLAYER);
+        List<Battle> battles = new ArrayList<>();
+        for (int i = readVarInt(in); i > 0; i--) {
+            MovingEntity enemy = (MovingEntity) entities.read();
+            battles.add(Battle.read(in, player, enemy));
+        }
+
+        Statistics statistics = in.readBoolean() ? Statistics.read(in) : null;
+
+        // Entities whose randomness couldn't be saved are given fresh randomness from the game.
+        for (Entity entity : listOfEntities) {
+            if (entity instanceof MovingEntity && ((MovingEntity) entity).getRandom() == null) {
+                ((MovingEntity) entity).setRandom(listOfEntities.getRandom().split());
+            }
+        }
+
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.restore(tickCount, listOfEntities, config, dungeonId, dungeonName, configName, minAndMax, battles, buildables,
+            inventory, statistics);
+        return dmc;
+    }
+
+    // Writes entity records, numbering each type the first time it is added.
+    private static final class EntityWriter {
+        private final DataOutput out;
+        private final Map<String, Integer> types = new LinkedHashMap<>();
+        private int previousX = 0;
+        private int previousY = 0;
+
+        EntityWriter(DataOutput out) {
+            this.out = out;
+        }
+
+        void addType(Entity entity) {
+            types.putIfAbsent(entity.getEntityType(), types.size());
+        }
+
+        void writeTypes() throws IOException {
+            writeVarInt(out, types.size());
+            for (String type : types.keySet()) {
+                out.writeUTF(type);
+            }
+        }
+
+        void write(Entity entity) throws IOException {
+            writeVarInt(out, types.get(entity.getEntityType()));
+            writeId(out, entity.getEntityID());
+
+            // Neighbouring entities are usually close together, so their distance is smaller to write than where they are.
+            Position location = entity.getCurrentLocation();
+            out.writeBoolean(location != null);
+            if (location != null) {
+                writeVarInt(out, zigZag(location.getX() - previousX));
+                writeVarInt(out, zigZag(location.getY() - previousY));
+                previousX = location.getX();
+                previousY = location.getY();
+            }
+
+            entity.writeState(out);
+        }
+    }
+
+    private static final class EntityReader {
+        private final DataInput in;
+        private final GameConfig config;
+        private final String[] types;
+        private int previousX = 0;
+        private int previousY = 0;
+
+        EntityReader(DataInput in, GameConfig config) throws IOException {
+            this.in = in;
+            this.config = config;
+            this.types = new String[readVarInt(in)];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = in.readUTF();
+            }
+        }
+
+        Entity read() throws IOException {
+            String type = types[readVarInt(in)];
+            String id = readId(in);
+
+            Position location = null;
+            if (in.readBoolean()) {
+                previousX += unZigZag(readVarInt(in));
+                previousY += unZigZag(readVarInt(in));
+                location = Position.of(previousX, previousY);
+            }
+
+            // The key, colour and movement factor are placeholders: readState restores the saved ones.
+            Entity entity = EntityFactory.createEntity(type, 0, 0, Integer.MAX_VALUE, " ", config, -1);
+            if (entity == null) {
+                throw new IOException("Unknown entity type " + type);
+            }
+            if (!type.equals(entity.getEntityType())) {
+                entity.setEntityType(type);
+            }
+            entity.setEntityID(id);
+            entity.setCurrentLocation(location);
+            entity.readState(in);
+            return entity;
+        }
+    }
+
+    /* Encodings */
+
+    private static void writeId(DataOutput out, String id) throws IOException {
+        UUID uuid = asUUID(id);
+        out.writeBoolean(uuid != null);
+        if (uuid != null) {
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            out.writeUTF(id);
+        }
+    }
+
+    private static String readId(DataInput in) throws IOException {
+        if (in.readBoolean()) {
+            return new UUID(in.readLong(), in.readLong()).toString();
+        }
+        return in.readUTF();
+    }
+
+    // Ids from the dungeon files aren't UUIDs, and only ids that read back exactly as they were are written as one.
+    private static UUID asUUID(String id) {
+        if (id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeStrings(DataOutput out, Map<String, String> strings) throws IOException {
+        writeVarInt(out, strings.size());
+        for (Map.Entry<String, String> entry : strings.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeNullableUTF(out, entry.getValue());
+        }
+    }
+
+    private static HashMap<String, String> readStrings(DataInput in) throws IOException {
+        HashMap<String, String> strings = new HashMap<>();
+        for (int i = readVarInt(in); i > 0; i--) {
+            strings.put(in.readUTF(), readNullableUTF(in));
+        }
+        return strings;
+    }
+
+    private static void writeNullableUTF(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableUTF(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    // An unsigned int in seven bit groups, low group first, so small numbers take a single byte.
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    // Maps signed numbers to unsigned ones so that small negative distances are small too.
+    static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,796 @@
+package dungeonmania;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
+import dungeonmania.util.Position;
+
+/**
+ * Every saved game, kept in one append-only file that is memory-mapped for reading, with an index in memory of where
+ * each save's slots are. Listing the saves reads the index, and loading one reads its slots straight out of the
+ * mapping, so neither touches the saves directory.
+ *
+ * Each slot is the save's name, the length of what it holds (or -1 when the save was removed), a CRC32 of that and then
+ * what it holds: either the whole game as SaveFile writes it, or a TickLog of what was played since the slots before.
+ * A save is its latest whole game and the tick logs after it. Saving a whole game again appends a new slot, and the old
+ * ones are left as garbage until the file is compacted. A slot only partly written when the process stopped fails its
+ * check and is cut off on opening.
+ *
+ * Saving doesn't wait for the disk. A slot joins the index as soon as it is saved, and is kept in memory (and loaded
+ * from there) until a writer thread has appended it to the file. The writer appends everything queued since it last
+ * wrote before forcing it to disk, so saves made close together share one fsync. getStatus says whether a save has
+ * reached the disk. The writer compacts the file too, copying the live slots without holding the store's lock, so
+ * saving and loading carry on meanwhile.
+ *
+ * Games saved before the store, as one .ser file each, are still listed and loaded from the saves directory, until they
+ * are saved again under the same name.
+ */
+public final class SaveStore implements Closeable {
+    public static final String SAVES_DIRECTORY = "src/main/java/dungeonmania/saves/";
+    private static final String STORE_FILE = "saves.store";
+
+    // "DMST"
+    private static final int MAGIC = 0x444D5354;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+
+    private static final int REMOVED = -1;
+
+    // A file is compacted once this much of it is garbage, and the garbage is more than the saves it still holds.
+    private static final long COMPACT_AFTER_BYTES = 1 << 20;
+
+    // A save takes a whole game again once it has this many tick logs, or they are larger than the game, so loading it
+    // never has much to play.
+    private static final int MAX_TICK_LOGS = 64;
+
+    // Saving waits for the writer once this much is waiting to be written, so a slow disk can't fill the heap.
+    private static final long MAX_QUEUED_BYTES = 64 << 20;
+
+    private static SaveStore defaultStore;
+
+    public enum Status {
+        // Saved, but not all of it is on disk yet.
+        SAVING,
+        SAVED,
+        // Writing part of it failed. It can still be loaded until the process stops, and saving it again will retry.
+        FAILED
+    }
+
+    private final Path directory;
+    private final Path path;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+
+    // The slots of each save, in the order the saves were first made.
+    private final Map<String, Entry> index = new LinkedHashMap<>();
+    private final Map<String, File> legacySaves = new TreeMap<>();
+    private long end;
+    private long garbage;
+    private long nextGeneration = 1;
+
+    // Slots saved but not yet written, in the order they were saved. Only the writer thread writes to the file.
+    private final ArrayDeque<Write> queue = new ArrayDeque<>();
+    private long queuedBytes;
+    private boolean writing;
+    private boolean closed;
+    private final Thread writer;
+
+    private static final class Slot {
+        // Where the slot is in the file, or -1 until it has been written.
+        long offset;
+        final int length;
+        final int dataOffset;
+        // What the slot holds, until it has been written.
+        byte[] pending;
+        Status status;
+
+        Slot(long offset, int length, int dataOffset) {
+            this.offset = offset;
+            this.length = length;
+            this.dataOffset = dataOffset;
+            this.status = Status.SAVED;
+        }
+
+        Slot(String name, byte[] data, int length) {
+            this(-1, Math.max(length, 0), headerSize(name));
+            this.pending = data;
+            this.status = Status.SAVING;
+        }
+
+        long size() {
+            return dataOffset + length;
+        }
+    }
+
+    private static final class Write {
+        final String name;
+        final Slot slot;
+        final byte[] data;
+        final int length;
+
+        Write(String name, Slot slot, byte[] data, int length) {
+            this.name = name;
+            this.slot = slot;
+            this.data = data;
+            this.length = length;
+        }
+    }
+
+    // A save's latest whole game, and the tick logs played on from it. Its generation tells it apart from a game saved
+    // under the same name before or since, so a log is only ever added to the game it was played on from.
+    private static final class Entry {
+        final Slot game;
+        final long generation;
+        final List<Slot> ticks = new ArrayList<>();
+        long tickBytes;
+
+        Entry(Slot game, long generation) {
+            this.game = game;
+            this.generation = generation;
+        }
+
+        void addTicks(Slot slot) {
+            ticks.add(slot);
+            tickBytes += slot.size();
+        }
+
+        long size() {
+            return game.size() + tickBytes;
+        }
+
+        Status status() {
+            Status status = game.status;
+            for (Slot slot : ticks) {
+                if (slot.status.compareTo(status) > 0) {
+                    status = slot.status;
+                }
+            }
+            return status;
+        }
+    }
+
+    private SaveStore(Path directory) throws IOException {
+        this.directory = directory;
+        this.path = directory.resolve(STORE_FILE);
+        Files.createDirectories(directory);
+        open();
+
+        File[] files = directory.toFile().listFiles();
+        for (File file : files == null ? new File[0] : files) {
+            if (file.isFile() && file.getName().endsWith(".ser")) {
+                legacySaves.put(file.getName().substring(0, file.getName().length() - ".ser".length()), file);
+            }
+        }
+
+        writer = new Thread(this::writeQueued, "save-writer " + path);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Has getDefault return the given store from now on, so tests don't save into the saves directory.
+    static synchronized void setDefault(SaveStore store) {
+        defaultStore = store;
+    }
+
+    /**
+     * @returns the store in the saves directory, opening it the first time it is asked for. What has been saved to it
+     * is written to disk before the process exits.
+     */
+    public static synchronized SaveStore getDefault() {
+        if (defaultStore == null) {
+            try {
+                SaveStore store = new SaveStore(Paths.get(SAVES_DIRECTORY));
+                Runtime.getRuntime().addShutdownHook(new Thread(store::flush, "save-flush"));
+                defaultStore = store;
+            } catch (IOException e) {
+                throw new IllegalStateException("Couldn't open the saves in " + SAVES_DIRECTORY, e);
+            }
+        }
+
+        return defaultStore;
+    }
+
+    /**
+     * @returns a store kept in the given directory, for tools and tests that want saves of their own.
+     */
+    public static SaveStore open(Path directory) throws IOException {
+        return new SaveStore(directory);
+    }
+
+    /* Saves */
+
+    /**
+     * @returns the names of every save, newest format first then any older .ser files.
+     */
+    public synchronized List<String> names() {
+        List<String> names = new ArrayList<>(index.keySet());
+        for (String name : legacySaves.keySet()) {
+            if (!index.containsKey(name)) {
+                names.add(name);
+            }
+        }
+
+        return names;
+    }
+
+    public synchronized boolean contains(String name) {
+        return index.containsKey(name) || legacySaves.containsKey(name);
+    }
+
+    /**
+     * @returns whether the save under the given name is on disk yet, or null if there is no such save.
+     */
+    public synchronized Status getStatus(String name) {
+        Entry entry = index.get(name);
+        if (entry != null) {
+            return entry.status();
+        }
+
+        return legacySaves.containsKey(name) ? Status.SAVED : null;
+    }
+
+    /**
+     * Saves the whole game under the given name, replacing any save already under it. The game is copied before this
+     * returns, but may not be on disk until a little after.
+     * @returns the generation of the save, for appendTicks
+     */
+    public long save(String name, DungeonManiaController dmc) throws IOException {
+        ByteArrayOutputStream game = new ByteArrayOutputStream();
+        SaveFile.write(dmc, game);
+        return save(name, game.toByteArray());
+    }
+
+    // Saves a game written by SaveFile.
+    synchronized long save(String name, byte[] game) {
+        Entry entry = new Entry(enqueue(name, game, game.length), nextGeneration++);
+        Entry previous = index.put(name, entry);
+        if (previous != null) {
+            garbage += previous.size();
+        }
+
+        return entry.generation;
+    }
+
+    /**
+     * Adds a finished TickLog to the save it was played on from.
+     * @param generation the generation of the save the log was played on from
+     * @returns false if the log wasn't added, because that save has been replaced or has as many logs as it should
+     * have: the whole game should be saved instead
+     */
+    public synchronized boolean appendTicks(String name, long generation, byte[] log) {
+        Entry entry = index.get(name);
+        if (entry == null || entry.generation != generation || entry.status() == Status.FAILED
+                || entry.ticks.size() >= MAX_TICK_LOGS
+                || entry.tickBytes + log.length > entry.game.length) {
+            return false;
+        }
+
+        entry.addTicks(enqueue(name, log, log.length));
+        return true;
+    }
+
+    /**
+     * @returns the game saved under the given name, with any tick logs since played on it, or null if there isn't one.
+     */
+    public DungeonManiaController load(String name) throws IOException, ClassNotFoundException {
+        List<ByteBuffer> slots = new ArrayList<>();
+        File legacy;
+        synchronized (this) {
+            Entry entry = index.get(name);
+            if (entry != null) {
+                slots.add(data(entry.game));
+                for (Slot ticks : entry.ticks) {
+                    slots.add(data(ticks));
+                }
+            }
+            legacy = legacySaves.get(name);
+        }
+
+        // A mapping stays readable once taken, even if the file is compacted, so the game is read outside the lock.
+        if (slots.isEmpty()) {
+            return legacy == null ? null : readLegacySave(legacy);
+        }
+
+        DungeonManiaController dmc = SaveFile.readFrom(new DataInputStream(new ByteBufferInputStream(slots.get(0))));
+        for (ByteBuffer ticks : slots.subList(1, slots.size())) {
+            TickLog.replay(new DataInputStream(new ByteBufferInputStream(ticks)), dmc);
+        }
+
+        return dmc;
+    }
+
+    /**
+     * Removes the save under the given name, including an older .ser file of it.
+     */
+    public synchronized void remove(String name) throws IOException {
+        legacySaves.remove(name);
+        Files.deleteIfExists(directory.resolve(name + ".ser"));
+
+        Entry previous = index.remove(name);
+        if (previous != null) {
+            garbage += previous.size() + enqueue(name, null, REMOVED).size();
+        }
+    }
+
+    /**
+     * Waits until everything saved so far has been written to disk (or failed to be), and the file compacted if writing
+     * it left it mostly garbage.
+     */
+    public synchronized void flush() {
+        boolean interrupted = false;
+        while (!queue.isEmpty() || writing) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes what has been saved, and closes the file. Nothing can be saved afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            channel.close();
+        }
+    }
+
+    // The bytes the store file takes up, including garbage. Slots not yet written aren't counted.
+    synchronized long size() {
+        return end;
+    }
+
+    // How many tick logs the save under the given name has after its whole game.
+    synchronized int tickLogs(String name) {
+        Entry entry = index.get(name);
+        return entry == null ? 0 : entry.ticks.size();
+    }
+
+    /* Writing */
+
+    private Slot enqueue(String name, byte[] data, int length) {
+        if (closed) {
+            throw new IllegalStateException("The save store is closed");
+        }
+
+        boolean interrupted = false;
+        while (queuedBytes > MAX_QUEUED_BYTES) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        Slot slot = new Slot(name, data, length);
+        queue.add(new Write(name, slot, data, length));
+        queuedBytes += slot.size();
+        notifyAll();
+        return slot;
+    }
+
+    // The writer thread. Writes whatever has been queued as one batch, outside the lock so saving carries on meanwhile.
+    private void writeQueued() {
+        while (true) {
+            List<Write> batch;
+            long offset;
+            synchronized (this) {
+                while (queue.isEmpty() && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // Only close stops the writer.
+                    }
+                }
+                if (queue.isEmpty()) {
+                    return;
+                }
+
+                batch = new ArrayList<>(queue);
+                queue.clear();
+                offset = end;
+                writing = true;
+            }
+
+            long position = offset;
+            IOException failure = null;
+            try {
+                for (Write write : batch) {
+                    writeSlot(channel, position, write.name, write.data, write.length);
+                    position += write.slot.size();
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                failure = e;
+            }
+
+            // The slots to compact, when the file is to be compacted: the live ones, every one of them written.
+            List<String> names = null;
+            List<Slot> slots = null;
+            long garbageCopied = 0;
+            synchronized (this) {
+                for (Write write : batch) {
+                    queuedBytes -= write.slot.size();
+                }
+
+                if (failure == null) {
+                    long slotOffset = offset;
+                    for (Write write : batch) {
+                        write.slot.offset = slotOffset;
+                        write.slot.pending = null;
+                        write.slot.status = Status.SAVED;
+                        slotOffset += write.slot.size();
+                    }
+                    end = position;
+                } else {
+                    // The next batch is written over whatever part of this one reached the file.
+                    for (Write write : batch) {
+                        write.slot.status = Status.FAILED;
+                    }
+                    failure.printStackTrace();
+                }
+
+                if (failure == null && isMostlyGarbage()) {
+                    names = new ArrayList<>();
+                    slots = new ArrayList<>();
+                    for (Map.Entry<String, Entry> entry : index.entrySet()) {
+                        names.add(entry.getKey());
+                        slots.add(entry.getValue().game);
+                        for (Slot ticks : entry.getValue().ticks) {
+                            names.add(entry.getKey());
+                            slots.add(ticks);
+                        }
+                    }
+                    garbageCopied = garbage;
+                } else {
+                    writing = false;
+                    notifyAll();
+                }
+            }
+
+            if (slots != null) {
+                try {
+                    compact(names, slots, garbageCopied);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+
+                synchronized (this) {
+                    writing = false;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    /* Slots */
+
+    private static int headerSize(String name) {
+        return 4 + name.getBytes(StandardCharsets.UTF_8).length + 4 + 4;
+    }
+
+    private static Slot writeSlot(FileChannel to, long offset, String name, byte[] data, int length) throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        int headerSize = 4 + nameBytes.length + 4 + 4;
+        ByteBuffer header = ByteBuffer.allocate(headerSize);
+        header.putInt(nameBytes.length);
+        header.put(nameBytes);
+        header.putInt(length);
+        header.putInt(length == REMOVED ? 0 : crc(data, 0, length));
+        header.flip();
+
+        writeFully(to, header, offset);
+        if (length != REMOVED) {
+            writeFully(to, ByteBuffer.wrap(data, 0, length), offset + headerSize);
+        }
+        return new Slot(offset, Math.max(length, 0), headerSize);
+    }
+
+    private ByteBuffer data(Slot slot) throws IOException {
+        if (slot.pending != null) {
+            return ByteBuffer.wrap(slot.pending, 0, slot.length).slice();
+        }
+
+        long start = slot.offset + slot.dataOffset;
+        if (mapped == null || start + slot.length > mapped.capacity()) {
+            if (end <= Integer.MAX_VALUE) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+            } else {
+                // Too large to map in one piece, so just this slot is mapped.
+                return channel.map(FileChannel.MapMode.READ_ONLY, start, slot.length);
+            }
+        }
+
+        ByteBuffer data = mapped.duplicate();
+        data.position((int) start).limit((int) start + slot.length);
+        return data.slice();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        mapped = null;
+        index.clear();
+        garbage = 0;
+
+        if (channel.size() < HEADER_SIZE) {
+            channel.truncate(0);
+            writeHeader(channel);
+            end = HEADER_SIZE;
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException(path + " isn't a save store");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported save store version " + version);
+        }
+
+        end = scan(channel.size());
+        // Anything after the last whole slot was cut off part way through being written.
+        if (end < channel.size()) {
+            channel.truncate(end);
+        }
+    }
+
+    // Builds the index from the slots in the file, and returns where the last whole slot ends.
+    private long scan(long size) throws IOException {
+        long offset = HEADER_SIZE;
+        ByteBuffer lengths = ByteBuffer.allocate(4);
+
+        while (offset + 4 <= size) {
+            lengths.clear();
+            readFully(lengths, offset);
+            int nameLength = lengths.getInt(0);
+            int headerSize = 4 + nameLength + 4 + 4;
+            if (nameLength < 0 || offset + headerSize > size) {
+                break;
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(headerSize - 4);
+            readFully(header, offset + 4);
+            header.flip();
+            byte[] nameBytes = new byte[nameLength];
+            header.get(nameBytes);
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if (length < REMOVED || offset + headerSize + Math.max(length, 0) > size) {
+                break;
+            }
+
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+            Slot slot = new Slot(offset, Math.max(length, 0), headerSize);
+            if (length == REMOVED) {
+                Entry previous = index.remove(name);
+                garbage += slot.size() + (previous == null ? 0 : previous.size());
+            } else {
+                ByteBuffer data = ByteBuffer.allocate(length);
+                readFully(data, offset + headerSize);
+                if (crc(data.array(), 0, length) != checksum) {
+                    break;
+                }
+
+                int magic = length < 4 ? 0 : data.getInt(0);
+                Entry save = index.get(name);
+                if (magic == SaveFile.MAGIC) {
+                    Entry previous = index.put(name, new Entry(slot, nextGeneration++));
+                    garbage += previous == null ? 0 : previous.size();
+                } else if (magic == TickLog.MAGIC && save != null) {
+                    save.addTicks(slot);
+                } else {
+                    garbage += slot.size();
+                }
+            }
+
+            offset += slot.size();
+        }
+
+        return offset;
+    }
+
+    private boolean isMostlyGarbage() {
+        return garbage > COMPACT_AFTER_BYTES && garbage > end - garbage && !hasUnwrittenSlots();
+    }
+
+    // Whether any save has a slot only in memory, queued or failed to be written. The slots it replaced are the only
+    // copy on disk until it is written, so the file isn't compacted meanwhile.
+    private boolean hasUnwrittenSlots() {
+        if (!queue.isEmpty()) {
+            return true;
+        }
+
+        for (Entry save : index.values()) {
+            if (save.game.pending != null) {
+                return true;
+            }
+            for (Slot ticks : save.ticks) {
+                if (ticks.pending != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Copies the given slots, each save's live ones, to a new file, and swaps it in for this one once it has them all.
+    // Called by the writer thread without the lock, so saving and loading carry on while the slots are copied. Nothing
+    // else writes to the file, so the slots stay where they are until the swap. Slots saved meanwhile are queued, and
+    // written after the copies once the writer is done here; until then, the slots they replaced are still copied.
+    // @param garbageCopied the garbage there was when the slots were taken, none of which is copied
+    private void compact(List<String> names, List<Slot> slots, long garbageCopied) throws IOException {
+        Path compacted = directory.resolve(STORE_FILE + ".compacting");
+        long[] offsets = new long[slots.size()];
+        long position = HEADER_SIZE;
+
+        Files.deleteIfExists(compacted);
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            writeHeader(out);
+            for (int i = 0; i < slots.size(); i++) {
+                offsets[i] = position;
+                position += copySlot(out, position, names.get(i), slots.get(i)).size();
+            }
+            out.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(compacted);
+            throw e;
+        }
+
+        synchronized (this) {
+            channel.close();
+            try {
+                Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                // the old file again if it couldn't be replaced
+                channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                mapped = null;
+            }
+
+            // Slots saved over since they were copied are garbage in the new file, as they were in the old.
+            for (int i = 0; i < slots.size(); i++) {
+                slots.get(i).offset = offsets[i];
+            }
+            end = position;
+            garbage -= garbageCopied;
+        }
+    }
+
+    // Reads the slot with the channel rather than the mapping, which only readers holding the lock remap.
+    private Slot copySlot(FileChannel to, long offset, String name, Slot slot) throws IOException {
+        ByteBuffer data = ByteBuffer.allocate(slot.length);
+        readFully(data, slot.offset + slot.dataOffset);
+        return writeSlot(to, offset, name, data.array(), slot.length);
+    }
+
+    private static void writeHeader(FileChannel to) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        writeFully(to, header, 0);
+    }
+
+    private static void writeFully(FileChannel to, ByteBuffer bytes, long position) throws IOException {
+        while (bytes.hasRemaining()) {
+            position += to.write(bytes, position);
+        }
+    }
+
+    private void readFully(ByteBuffer bytes, long position) throws IOException {
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, position + bytes.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    /* Saves from before the store */
+
+    // Each is a .ser file, either a SaveFile or (older still) a serialized controller.
+    private static DungeonManiaController readLegacySave(File file) throws IOException, ClassNotFoundException {
+        try (InputStream fIn = new BufferedInputStream(new FileInputStream(file))) {
+            fIn.mark(4);
+            boolean isSaveFile = SaveFile.isSaveFile(new DataInputStream(fIn));
+            fIn.reset();
+            return isSaveFile ? SaveFile.read(fIn) : readSerializedSave(fIn);
+        }
+    }
+
+    private static DungeonManiaController readSerializedSave(InputStream fIn) throws IOException, ClassNotFoundException {
+        ObjectInputStream In = new ObjectInputStream(fIn);
+        Save UnSerializedData = (Save) In.readObject();
+
+        DungeonManiaController LoadedDMC = UnSerializedData.getDmc();
+        HashMap<String, ArrayList<Integer>> positions = UnSerializedData.getEntityPositions();
+        EntityList Entities = LoadedDMC.getListOfEntities();
+
+        Helper.setZombAndSpiderSpawnFields(UnSerializedData, LoadedDMC);
+
+        LoadedDMC.getPlayer().setPrevPos(Position.of(positions.get("PrevPlayerPos").get(0), positions.get("PrevPlayerPos").get(1)));
+        for (Entity e : Entities) {
+            ArrayList<Integer> XandY = positions.get(e.getEntityID());
+            e.setCurrentLocation(Position.of(XandY.get(0), XandY.get(1)));
+        }
+
+        return LoadedDMC;
+    }
+
+    private static int crc(byte[] data, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    // Reads a slot out of the mapping without copying it first.
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+
+            int n = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, n);
+            return n;
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package dungeonmania;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import dungeonmania.Metrics.TickMetrics;
+
+/**
+ * The game of each session the server has seen. Finding a session's game takes no lock, and each session has a lock of
+ * its own that calls on its game hold, so requests from different sessions never wait on each other, while requests from
+ * the same session are played one at a time.
+ *
+ * Given a store, a session's game is passivated to it, leaving the heap, once the session has been idle for a while or
+ * when more sessions than the registry keeps resident are being played, in which case the least recently used goes.
+ * The next call on a passivated session restores its game from the store first, so callers never see the difference. A
+ * session passivated for longer than a browser would keep it is dropped, as is an idle session that never started a
+ * game, having nothing worth keeping.
+ */
+public final class SessionRegistry {
+    public static final String DEFAULT_SESSION = "__DEFAULT_SESSION__";
+
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+
+    // The resident sessions, least recently used first. Held only to move, add or take one, so calls barely wait on it.
+    private final LinkedHashMap<String, Session> residentByUse = new LinkedHashMap<>(16, 0.75f, true);
+
+    // null when every session is kept resident
+    private final SaveStore store;
+    private final int maxResident;
+    private final long idleNanos;
+    private final long expireNanos;
+
+    private final AtomicInteger resident = new AtomicInteger();
+    private final AtomicInteger passivated = new AtomicInteger();
+
+    // A session's game, and the lock calls on it hold. Only changed while it is held.
+    private static final class Session {
+        private final String id;
+        private DungeonManiaController dmc;
+        private boolean isPassivated;
+        // Dropped from the registry: the next call on the session starts it again.
+        private boolean isRemoved;
+
+        // What a passivated game's autosaving was, which a save doesn't hold.
+        private String autosaveName;
+        private int autosaveEvery;
+
+        // Read without the lock, to choose which idle sessions to passivate.
+        private volatile boolean isResident;
+        private volatile long lastUsed = System.nanoTime();
+
+        Session(String id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * A registry that keeps every session resident.
+     */
+    public SessionRegistry() {
+        this(null, Integer.MAX_VALUE, null, null);
+    }
+
+    /**
+     * @param store where sessions are passivated to. A session lasts no longer than the server, so whatever is in the
+     * store already is dropped.
+     * @param maxResident how many sessions are kept resident at most
+     * @param idleTimeout how long a session goes unused before it is passivated
+     * @param expireAfter how long a session goes unused before it is dropped
+     */
+    public SessionRegistry(SaveStore store, int maxResident, Duration idleTimeout, Duration expireAfter) {
+        if (maxResident < 1) {
+            throw new IllegalArgumentException("At least one session must be resident");
+        }
+
+        this.store = store;
+        this.maxResident = maxResident;
+        this.idleNanos = idleTimeout == null ? Long.MAX_VALUE : idleTimeout.toNanos();
+        this.expireNanos = expireAfter == null ? Long.MAX_VALUE : expireAfter.toNanos();
+
+        if (store != null) {
+            for (String name : store.names()) {
+                try {
+                    store.remove(name);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * A registry that passivates sessions to a store in the given directory.
+     */
+    public static SessionRegistry passivatingTo(Path directory, int maxResident, Duration idleTimeout, Duration expireAfter) {
+        try {
+            return new SessionRegistry(SaveStore.open(directory), maxResident, idleTimeout, expireAfter);
+        } catch (IOException e) {
+            throw new IllegalStateException("Couldn't open the sessions in " + directory, e);
+        }
+    }
+
+    /**
+     * Calls on the game of the given session, starting the session if it is new and restoring its game if it was
+     * passivated. No other call on the same session's game runs until this one returns.
+     * @param sessionId the session, or null for the default session
+     */
+    public <T> T call(String sessionId, Function<DungeonManiaController, T> call) {
+        String id = sessionId == null ? DEFAULT_SESSION : sessionId;
+        T result;
+        while (true) {
+            Session session = getSession(id);
+            synchronized (session) {
+                if (session.isRemoved) {
+                    continue;
+                }
+
+                activate(session);
+                used(session);
+                try {
+                    result = call.apply(session.dmc);
+                } finally {
+                    session.lastUsed = System.nanoTime();
+                }
+            }
+            break;
+        }
+
+        // No session's lock is held here, so passivating another can't wait on a call that waits on this one.
+        while (resident.get() > maxResident && passivateLeastRecentlyUsed()) {
+        }
+
+        return result;
+    }
+
+    /**
+     * Passivates every session idle for longer than the idle timeout, and drops those idle for longer than they are
+     * kept.
+     */
+    public void evictIdle() {
+        if (store == null) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        for (Session session : sessions.values()) {
+            long idle = now - session.lastUsed;
+            if (idle > expireNanos || (session.isResident && idle > idleNanos)) {
+                synchronized (session) {
+                    // the session may have been used since it was looked at
+                    idle = System.nanoTime() - session.lastUsed;
+                    if (idle > expireNanos) {
+                        remove(session);
+                    } else if (idle > idleNanos) {
+                        passivate(session);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Has evictIdle run every so often on a thread of its own, until the process stops.
+     */
+    public void startEvicting(Duration every) {
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            try {
+                evictIdle();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }, every.toMillis(), every.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @returns how many sessions there are, resident or passivated
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    public int getResidentCount() {
+        return resident.get();
+    }
+
+    public int getPassivatedCount() {
+        return passivated.get();
+    }
+
+    private Session getSession(String sessionId) {
+        // sessions are nearly always already there, and looking one up takes no lock
+        Session session = sessions.get(sessionId);
+        return session != null ? session : sessions.computeIfAbsent(sessionId, Session::new);
+    }
+
+    /* Passivation. Each of these is called holding the session's lock. */
+
+    // Makes sure the session's game is in the heap.
+    private void activate(Session session) {
+        if (session.dmc != null) {
+            return;
+        }
+
+        session.dmc = session.isPassivated ? restore(session) : new DungeonManiaController();
+        session.isResident = true;
+        synchronized (residentByUse) {
+            residentByUse.put(session.id, session);
+        }
+        resident.incrementAndGet();
+        TickMetrics.sessionsChanged(1, 0);
+    }
+
+    private void used(Session session) {
+        session.lastUsed = System.nanoTime();
+        synchronized (residentByUse) {
+            residentByUse.get(session.id);
+        }
+    }
+
+    private void leave(Session session) {
+        session.isResident = false;
+        synchronized (residentByUse) {
+            residentByUse.remove(session.id, session);
+        }
+        resident.decrementAndGet();
+    }
+
+    private DungeonManiaController restore(Session session) {
+        session.isPassivated = false;
+        passivated.decrementAndGet();
+        TickMetrics.sessionsChanged(0, -1);
+
+        DungeonManiaController dmc;
+        try {
+            dmc = store.load(session.id);
+            store.remove(session.id);
+        } catch (IOException | ClassNotFoundException e) {
+            // the game is lost, and the session starts again as if it had expired
+            e.printStackTrace();
+            return new DungeonManiaController();
+        }
+
+        if (dmc == null) {
+            return new DungeonManiaController();
+        }
+        if (session.autosaveName != null) {
+            dmc.setAutosave(session.autosaveName, session.autosaveEvery);
+        }
+        TickMetrics.sessionRestored();
+        return dmc;
+    }
+
+    // @returns false if the session is still resident, having failed to be saved
+    private boolean passivate(Session session) {
+        if (session.isRemoved || session.dmc == null) {
+            return true;
+        }
+
+        DungeonManiaController dmc = session.dmc;
+        if (dmc.getDungeonId() == null) {
+            remove(session);
+            return true;
+        }
+
+        try {
+            store.save(session.id, dmc);
+        } catch (IOException e) {
+            // kept resident, to be passivated again later
+            e.printStackTrace();
+            return false;
+        }
+
+        session.autosaveName = dmc.getAutosaveName();
+        session.autosaveEvery = dmc.getAutosaveEvery();
+        session.dmc = null;
+        leave(session);
+        session.isPassivated = true;
+        passivated.incrementAndGet();
+        TickMetrics.sessionsChanged(-1, 1);
+        TickMetrics.sessionPassivated();
+        return true;
+    }
+
+    private void remove(Session session) {
+        if (session.isRemoved) {
+            return;
+        }
+
+        session.isRemoved = true;
+        sessions.remove(session.id, session);
+        if (session.dmc != null) {
+            session.dmc = null;
+            leave(session);
+            TickMetrics.sessionsChanged(-1, 0);
+        } else if (session.isPassivated) {
+            session.isPassivated = false;
+            passivated.decrementAndGet();
+            TickMetrics.sessionsChanged(0, -1);
+            try {
+                store.remove(session.id);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // @returns false if there was no resident session that could be passivated
+    private boolean passivateLeastRecentlyUsed() {
+        if (store == null) {
+            return false;
+        }
+
+        Session leastRecent;
+        synchronized (residentByUse) {
+            Iterator<Session> byUse = residentByUse.values().iterator();
+            if (!byUse.hasNext()) {
+                return false;
+            }
+            leastRecent = byUse.next();
+        }
+
+        synchronized (leastRecent) {
+            // already passivated or dropped meanwhile, by the evictor or another call
+            if (!leastRecent.isResident) {
+                return true;
+            }
+            return passivate(leastRecent);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package dungeonmania.Simulation;
+
+import java.util.List;
+import java.util.Random;
+
+import dungeonmania.DungeonManiaController;
+import dungeonmania.util.Direction;
+
+/**
+ * Chooses the player's move for each tick of a simulated game.
+ */
+public interface MovePolicy {
+    /**
+     * @returns the direction to move the player in, or null to end the game where it is.
+     */
+    Direction nextMove(DungeonManiaController game);
+
+    /**
+     * Plays the given moves in order, then ends the game.
+     */
+    static MovePolicy scripted(List<Direction> moves) {
+        return game -> game.getTickCount() < moves.size() ? moves.get(game.getTickCount()) : null;
+    }
+
+    /**
+     * Moves in a random cardinal direction every tick.
+     */
+    static MovePolicy random(Random random) {
+        Direction[] directions = { Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT };
+        return game -> directions[random.nextInt(directions.length)];
+    }
+}
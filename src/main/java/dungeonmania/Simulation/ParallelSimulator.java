@@ -0,0 +1,80 @@
+package dungeonmania.Simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Plays many headless games at once, one game per task on a fixed pool of threads.
+ *
+ * Every game gets its own controller, so games share nothing but read-only tables (the step rules and
+ * shared positions), and none of them saves. Each game and its policy are seeded from seeds drawn up front from
+ * the sweep's seed, so a sweep plays the same games whatever the number of threads or the order games finish in.
+ */
+public class ParallelSimulator {
+    private final int threads;
+
+    public ParallelSimulator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelSimulator(int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("A simulator needs at least one thread");
+
+        this.threads = threads;
+    }
+
+    /**
+     * Plays every dungeon with every config gamesPerPair times.
+     * @param policies makes each game's policy from that game's own Random
+     * @returns a report holding the results in the order dungeon, config, game
+     */
+    public SimulationReport sweep(List<String> dungeonNames, List<String> configNames, int gamesPerPair, long seed,
+            Function<Random, MovePolicy> policies, int maxTicks) throws IllegalArgumentException {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<SimulationResult>> games = new ArrayList<>();
+            for (String dungeonName : dungeonNames) {
+                for (String configName : configNames) {
+                    for (int i = 0; i < gamesPerPair; i++) {
+                        long gameSeed = seeds.nextLong();
+                        long policySeed = seeds.nextLong();
+                        games.add(pool.submit(() -> Simulator.run(dungeonName, configName, gameSeed,
+                            policies.apply(new Random(policySeed)), maxTicks)));
+                    }
+                }
+            }
+
+            List<SimulationResult> results = new ArrayList<>();
+            for (Future<SimulationResult> game : games) {
+                results.add(await(game));
+            }
+
+            return new SimulationReport(results);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static SimulationResult await(Future<SimulationResult> game) {
+        try {
+            return game.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a simulated game", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+
+            throw new IllegalStateException("A simulated game failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package dungeonmania.Simulation;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import dungeonmania.Simulation.SimulationResult.Outcome;
+
+/**
+ * A summary of a sweep: how often each outcome happened and how long games lasted,
+ * for the whole sweep and for each dungeon and config pair.
+ */
+public final class SimulationReport {
+    private final List<SimulationResult> results;
+    private final Summary total = new Summary();
+    private final Map<String, Summary> byPair = new LinkedHashMap<>();
+
+    public SimulationReport(List<SimulationResult> results) {
+        this.results = Collections.unmodifiableList(results);
+        for (SimulationResult result : results) {
+            total.add(result);
+            byPair.computeIfAbsent(pairName(result), pair -> new Summary()).add(result);
+        }
+    }
+
+    public List<SimulationResult> getResults() {
+        return results;
+    }
+
+    public Summary getTotal() {
+        return total;
+    }
+
+    public Summary getSummary(String dungeonName, String configName) {
+        return byPair.get(dungeonName + " with " + configName);
+    }
+
+    private static String pairName(SimulationResult result) {
+        return result.getDungeonName() + " with " + result.getConfigName();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, Summary> pair : byPair.entrySet()) {
+            report.append(pair.getKey()).append(": ").append(pair.getValue()).append('\n');
+        }
+
+        return report.append("total: ").append(total).toString();
+    }
+
+    /**
+     * Outcome counts and tick totals over a set of games.
+     */
+    public static final class Summary {
+        private final EnumMap<Outcome, Integer> outcomes = new EnumMap<>(Outcome.class);
+        private int games = 0;
+        private long ticks = 0;
+        private int maxTicks = 0;
+
+        private void add(SimulationResult result) {
+            outcomes.merge(result.getOutcome(), 1, Integer::sum);
+            games++;
+            ticks += result.getTickCount();
+            maxTicks = Math.max(maxTicks, result.getTickCount());
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        public int count(Outcome outcome) {
+            return outcomes.getOrDefault(outcome, 0);
+        }
+
+        public double getMeanTicks() {
+            return games == 0 ? 0 : (double) ticks / games;
+        }
+
+        public int getMaxTicks() {
+            return maxTicks;
+        }
+
+        @Override
+        public String toString() {
+            return games + " games, " + count(Outcome.WON) + " won, " + count(Outcome.DIED) + " died, "
+                + count(Outcome.UNFINISHED) + " unfinished, " + String.format("%.1f", getMeanTicks())
+                + " ticks on average, " + maxTicks + " at most";
+        }
+    }
+}
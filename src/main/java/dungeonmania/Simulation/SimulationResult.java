@@ -0,0 +1,88 @@
+package dungeonmania.Simulation;
+
+import dungeonmania.Statistics;
+
+/**
+ * The outcome of a game played headless: how it ended, after how many ticks,
+ * and the goals and statistics it ended with.
+ */
+public final class SimulationResult {
+    public enum Outcome {
+        WON,
+        DIED,
+        UNFINISHED
+    }
+
+    private final String dungeonName;
+    private final String configName;
+    private final long seed;
+    private final Outcome outcome;
+    private final int tickCount;
+    private final String goals;
+    private final int enemiesDestroyed;
+    private final int spawnersDestroyed;
+    private final int treasureCollected;
+    private final int floorSwitchesDepressed;
+
+    public SimulationResult(String dungeonName, String configName, long seed, Outcome outcome, int tickCount, String goals,
+            Statistics statistics) {
+        this.dungeonName = dungeonName;
+        this.configName = configName;
+        this.seed = seed;
+        this.outcome = outcome;
+        this.tickCount = tickCount;
+        this.goals = goals;
+        this.enemiesDestroyed = statistics.getEnemiesDestroyed();
+        this.spawnersDestroyed = statistics.getSpawnersDestroyed();
+        this.treasureCollected = statistics.getTreasureCollected();
+        this.floorSwitchesDepressed = statistics.getFloorSwitchesDepressed();
+    }
+
+    public String getDungeonName() {
+        return dungeonName;
+    }
+
+    public String getConfigName() {
+        return configName;
+    }
+
+    // Starting the same dungeon and config with this seed replays the game.
+    public long getSeed() {
+        return seed;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    public String getGoals() {
+        return goals;
+    }
+
+    public int getEnemiesDestroyed() {
+        return enemiesDestroyed;
+    }
+
+    public int getSpawnersDestroyed() {
+        return spawnersDestroyed;
+    }
+
+    public int getTreasureCollected() {
+        return treasureCollected;
+    }
+
+    public int getFloorSwitchesDepressed() {
+        return floorSwitchesDepressed;
+    }
+
+    @Override
+    public String toString() {
+        return dungeonName + " with " + configName + " (seed " + seed + "): " + outcome + " after " + tickCount + " ticks, goals \"" + goals
+            + "\", enemies " + enemiesDestroyed + ", spawners " + spawnersDestroyed + ", treasure " + treasureCollected
+            + ", switches " + floorSwitchesDepressed;
+    }
+}
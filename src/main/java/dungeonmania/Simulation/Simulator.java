@@ -0,0 +1,57 @@
+package dungeonmania.Simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+import dungeonmania.DungeonManiaController;
+import dungeonmania.util.Direction;
+
+/**
+ * Plays games headless, without building a DungeonResponse for any tick,
+ * for sweeps that only want to know how each game ends.
+ */
+public class Simulator {
+
+    /**
+     * Plays one game until the player wins or dies, the policy stops choosing moves, or maxTicks ticks have been played.
+     * @param seed the seed the game's random choices are drawn from, or null to use the config's or the clock's
+     */
+    public static SimulationResult run(String dungeonName, String configName, Long seed, MovePolicy policy, int maxTicks)
+            throws IllegalArgumentException {
+        DungeonManiaController game = new DungeonManiaController();
+        game.startGame(dungeonName, configName, seed);
+
+        while (!game.isGameOver() && game.getTickCount() < maxTicks) {
+            Direction move = policy.nextMove(game);
+            if (move == null)
+                break;
+
+            game.advance(move);
+        }
+
+        return game.getSimulationResult();
+    }
+
+    /**
+     * Plays every dungeon with every config, one after the other. The games and their policies are seeded
+     * from the given seed the same way ParallelSimulator seeds them.
+     * @param policies makes each game's policy from a Random of its own
+     */
+    public static List<SimulationResult> sweep(List<String> dungeonNames, List<String> configNames, long seed,
+            Function<Random, MovePolicy> policies, int maxTicks) throws IllegalArgumentException {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<SimulationResult> results = new ArrayList<>();
+        for (String dungeonName : dungeonNames) {
+            for (String configName : configNames) {
+                long gameSeed = seeds.nextLong();
+                MovePolicy policy = policies.apply(new Random(seeds.nextLong()));
+                results.add(run(dungeonName, configName, gameSeed, policy, maxTicks));
+            }
+        }
+
+        return results;
+    }
+}
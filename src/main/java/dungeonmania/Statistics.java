@@ -1,14 +1,16 @@
 package dungeonmania;
 
-import java.util.List;
-import java.util.HashMap;
-import java.util.stream.Collectors;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 
 import dungeonmania.Entities.Entity;
+import dungeonmania.Entities.EntityList;
+import dungeonmania.Entities.EntityType;
 
 import dungeonmania.Goal.BooleanGoal;
 import dungeonmania.Goal.SimpleGoal;
@@ -32,15 +34,49 @@ public class Statistics implements Serializable {
     private int treasureCollected = 0;
     private int treasureGoal;
 
-    public Statistics(JsonObject jsonGoals, List<Entity> listOfEntities, HashMap<String, String> configMap) {
+    public Statistics(BooleanGoal goal, EntityList listOfEntities, GameConfig config) {
         
-        this.goal = generateGoals(jsonGoals);
+        this.goal = goal;
 
-        this.floorSwitchesCreated = listOfEntities.stream().filter(e -> e.getEntityType().equals("switch")).collect(Collectors.toList()).size();
-        this.spawnersCreated = listOfEntities.stream().filter(e -> e.getEntityType().equals("zombie_toast_spawner")).collect(Collectors.toList()).size();
+        this.floorSwitchesCreated = listOfEntities.countOfType(EntityType.SWITCH);
+        this.spawnersCreated = listOfEntities.countOfType(EntityType.ZOMBIE_TOAST_SPAWNER);
 
-        this.enemiesGoal = Integer.parseInt(configMap.get("enemy_goal"));
-        this.treasureGoal = Integer.parseInt(configMap.get("treasure_goal"));
+        this.enemiesGoal = config.getEnemyGoal();
+        this.treasureGoal = config.getTreasureGoal();
+    }
+
+    private Statistics() {
+    }
+
+    /**
+     * Writes the goals and every count towards them, for a save.
+     */
+    public void write(DataOutput out) throws IOException {
+        goal.write(out);
+        out.writeBoolean(reachedAnExit);
+        out.writeInt(enemiesDestroyed);
+        out.writeInt(enemiesGoal);
+        out.writeInt(spawnersDestroyed);
+        out.writeInt(spawnersCreated);
+        out.writeInt(floorSwitchesDepressed);
+        out.writeInt(floorSwitchesCreated);
+        out.writeInt(treasureCollected);
+        out.writeInt(treasureGoal);
+    }
+
+    public static Statistics read(DataInput in) throws IOException {
+        Statistics statistics = new Statistics();
+        statistics.goal = BooleanGoal.read(in);
+        statistics.reachedAnExit = in.readBoolean();
+        statistics.enemiesDestroyed = in.readInt();
+        statistics.enemiesGoal = in.readInt();
+        statistics.spawnersDestroyed = in.readInt();
+        statistics.spawnersCreated = in.readInt();
+        statistics.floorSwitchesDepressed = in.readInt();
+        statistics.floorSwitchesCreated = in.readInt();
+        statistics.treasureCollected = in.readInt();
+        statistics.treasureGoal = in.readInt();
+        return statistics;
     }
 
 
@@ -48,6 +84,26 @@ public class Statistics implements Serializable {
         return goal.prettyPrint(); // False cos not called within BooleanGoal to child goal.
     }
 
+    public boolean isComplete() {
+        return goal.isComplete();
+    }
+
+    public int getEnemiesDestroyed() {
+        return enemiesDestroyed;
+    }
+
+    public int getSpawnersDestroyed() {
+        return spawnersDestroyed;
+    }
+
+    public int getTreasureCollected() {
+        return treasureCollected;
+    }
+
+    public int getFloorSwitchesDepressed() {
+        return floorSwitchesDepressed;
+    }
+
     public void addEnemyDestroyed() {
         this.enemiesDestroyed += 1;
         checkEnemiesGoal();
@@ -124,7 +180,10 @@ public class Statistics implements Serializable {
         }
     }
 
-    private BooleanGoal generateGoals(JsonObject jsonGoals) {
+    /**
+     * @returns the goals in a dungeon file's "goal-condition"
+     */
+    public static BooleanGoal generateGoals(JsonObject jsonGoals) {
         String goalType = jsonGoals.get("goal").getAsString();
 
         BooleanGoal goal = null;
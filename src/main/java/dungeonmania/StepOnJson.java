@@ -3,24 +3,51 @@ package dungeonmania;
 import java.util.ArrayList;
 import java.util.Scanner;
 
+import dungeonmania.Entities.EntityType;
+
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.Serializable;
 
+/**
+ * The step rules of every moving entity: which types of entity it can share a tile with.
+ * Each mover's rules are read from data/<type>.txt once, when this class is first used,
+ * so spawning an entity or checking a step never touches the disk.
+ */
 public class StepOnJson implements Serializable {
+    private static final EntityType[] MOVERS = {
+        EntityType.PLAYER, EntityType.SPIDER, EntityType.ZOMBIE_TOAST,
+        EntityType.MERCENARY, EntityType.ASSASSIN, EntityType.HYDRA
+    };
+
+    // STEP_RULES[mover][occupant] is true if the mover can step onto a tile holding the occupant.
+    // A type that has no rules file can't step anywhere.
+    private static final boolean[][] STEP_RULES = loadStepRules();
+
+    /**
+     * @returns true if an entity following the given step rules can step onto a tile holding the occupant.
+     */
+    public static boolean canStep(EntityType mover, EntityType occupant) {
+        if (mover == null || occupant == null) {
+            return false;
+        }
+
+        return STEP_RULES[mover.ordinal()][occupant.ordinal()];
+    }
+
     public static ArrayList<String> getStepLogic(String type) {
         try {
             String path = "src/main/java/dungeonmania/data/" + type + ".txt";
 
             File types = new File(path);
-                
+
             Scanner reader = new Scanner(types);
 
             ArrayList<String> listOfTypes = new ArrayList<>();
             while (reader.hasNextLine()) {
                 String str = reader.nextLine();
                 listOfTypes.add(str);
-            } 
+            }
 
             reader.close();
 
@@ -32,6 +59,24 @@ public class StepOnJson implements Serializable {
 
     }
 
+    private static boolean[][] loadStepRules() {
+        int count = EntityType.values().length;
+        boolean[][] rules = new boolean[count][count];
 
+        for (EntityType mover : MOVERS) {
+            ArrayList<String> legalTypes = getStepLogic(mover.getName());
+            if (legalTypes == null) {
+                continue;
+            }
 
+            for (String legalType : legalTypes) {
+                EntityType occupant = EntityType.fromName(legalType);
+                if (occupant != null) {
+                    rules[mover.ordinal()][occupant.ordinal()] = true;
+                }
+            }
+        }
+
+        return rules;
+    }
 }
@@ -0,0 +1,192 @@
+package dungeonmania;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import dungeonmania.util.ResourceCatalog;
+
+/**
+ * The configs and dungeons games are started with, each parsed the first time a game asks for it and shared by every
+ * game started with it afterwards, across all sessions. Both are never changed once parsed, so sharing them is safe: a
+ * game makes its entities and goals from a dungeon template rather than taking any of the template's.
+ *
+ * Only so many of each are kept, the least recently used being dropped past that. The resources are only read again
+ * once dropped, unless watchResources is asked to notice them being edited.
+ */
+public final class TemplateCache {
+    private static final int MAX_CONFIGS = 128;
+    private static final int MAX_DUNGEONS = 128;
+
+    private static final Cache<GameConfig> configs = new Cache<>(MAX_CONFIGS, ReadJSONFiles::readConfigFile);
+    private static final Cache<DungeonTemplate> dungeons = new Cache<>(MAX_DUNGEONS, ReadJSONFiles::readDungeonFile);
+
+    private static WatchService watcher;
+
+    private TemplateCache() {
+    }
+
+    /**
+     * @returns the config called configName, parsed
+     * @throws IllegalArgumentException if there is no such config, or it isn't one a game can be played by
+     */
+    public static GameConfig getConfig(String configName) throws IllegalArgumentException {
+        return configs.get(configName);
+    }
+
+    /**
+     * @returns the dungeon called dungeonName, parsed
+     * @throws IllegalArgumentException if there is no such dungeon
+     */
+    public static DungeonTemplate getDungeon(String dungeonName) throws IllegalArgumentException {
+        return dungeons.get(dungeonName);
+    }
+
+    /**
+     * Drops every config and dungeon, so each is read again the next time a game asks for it.
+     */
+    public static void clear() {
+        configs.clear();
+        dungeons.clear();
+    }
+
+    /**
+     * Drops any config or dungeon whose file in the resources is edited from now on, so games started afterwards get the
+     * edited one, and has the ResourceCatalog list them again when one is added or removed. Only resources that are
+     * files are watched: those packaged in a jar can't be edited.
+     */
+    public static synchronized void watchResources() throws IOException {
+        if (watcher != null) {
+            return;
+        }
+
+        WatchService watchService = FileSystems.getDefault().newWatchService();
+        Map<WatchKey, Cache<?>> watched = new HashMap<>();
+        watch(watchService, "configs", configs, watched);
+        watch(watchService, "dungeons", dungeons, watched);
+
+        Thread thread = new Thread(() -> dropEdited(watchService, watched), "template-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        watcher = watchService;
+    }
+
+    private static void watch(WatchService watchService, String directory, Cache<?> cache, Map<WatchKey, Cache<?>> watched)
+            throws IOException {
+        for (URL url : Collections.list(TemplateCache.class.getClassLoader().getResources(directory))) {
+            if (!url.getProtocol().equals("file")) {
+                continue;
+            }
+
+            try {
+                Path path = Paths.get(url.toURI());
+                watched.put(path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE), cache);
+            } catch (URISyntaxException e) {
+                throw new IOException("Can't watch " + url, e);
+            }
+        }
+    }
+
+    private static void dropEdited(WatchService watchService, Map<WatchKey, Cache<?>> watched) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Cache<?> cache = watched.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // which files changed was lost, so any of them might have
+                        cache.clear();
+                        ResourceCatalog.refresh();
+                        continue;
+                    }
+
+                    String fileName = event.context().toString();
+                    if (fileName.endsWith(".json")) {
+                        cache.remove(fileName.substring(0, fileName.length() - ".json".length()));
+                    }
+                    if (event.kind() != StandardWatchEventKinds.ENTRY_MODIFY) {
+                        ResourceCatalog.refresh();
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // the watcher is only stopped with the process
+        }
+    }
+
+    /**
+     * Templates by name, the least recently used dropped once there are more than max.
+     */
+    static final class Cache<T> {
+        private final int max;
+        private final Function<String, T> parse;
+        private final LinkedHashMap<String, T> entries;
+
+        // Bumped whenever templates are dropped, so one parsed from a file before it was edited isn't kept after.
+        private long drops;
+
+        Cache(int max, Function<String, T> parse) {
+            this.max = max;
+            this.parse = parse;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+                    return size() > Cache.this.max;
+                }
+            };
+        }
+
+        T get(String name) {
+            long dropsBefore;
+            synchronized (this) {
+                T template = entries.get(name);
+                if (template != null) {
+                    return template;
+                }
+                dropsBefore = drops;
+            }
+
+            // Parsed outside the lock, so games started with templates already kept don't wait on it.
+            T template = parse.apply(name);
+            synchronized (this) {
+                T parsedMeanwhile = entries.get(name);
+                if (parsedMeanwhile != null) {
+                    return parsedMeanwhile;
+                }
+                if (drops == dropsBefore) {
+                    entries.put(name, template);
+                }
+            }
+            return template;
+        }
+
+        synchronized void remove(String name) {
+            entries.remove(name);
+            drops++;
+        }
+
+        synchronized void clear() {
+            entries.clear();
+            drops++;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package dungeonmania;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import dungeonmania.exceptions.InvalidActionException;
+import dungeonmania.util.Direction;
+
+/**
+ * What the player has done since a game was last saved, so a save can be brought up to date by appending a few bytes
+ * per tick rather than writing the whole game again.
+ *
+ * Every random choice in a game is drawn from randomness that the save it is played on from holds the state of, so
+ * playing the same commands on the save makes the same choices, and the commands are all that is logged. A finished log
+ * ends with the tick count and the state of the game's random, which replay checks the game has reached.
+ */
+final class TickLog {
+    // "DMTL"
+    static final int MAGIC = 0x444D544C;
+
+    private static final int END = 0;
+    private static final int MOVE = 1;
+    private static final int USE_ITEM = 2;
+    private static final int BUILD = 3;
+    private static final int INTERACT = 4;
+
+    private final String saveName;
+    private final long generation;
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+
+    /**
+     * @param saveName the save the commands are played on from
+     * @param generation the SaveStore's generation of that save
+     */
+    TickLog(String saveName, long generation) {
+        this.saveName = saveName;
+        this.generation = generation;
+        writeInt(MAGIC);
+    }
+
+    String getSaveName() {
+        return saveName;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    void move(Direction direction) {
+        writeByte(MOVE);
+        writeByte(direction.ordinal());
+    }
+
+    void useItem(String itemId) {
+        writeByte(USE_ITEM);
+        writeUTF(itemId);
+    }
+
+    void build(String buildable) {
+        writeByte(BUILD);
+        writeUTF(buildable);
+    }
+
+    void interact(String entityId) {
+        writeByte(INTERACT);
+        writeUTF(entityId);
+    }
+
+    /**
+     * Ends the log with where the game it was recorded on is now. Nothing more can be logged afterwards.
+     * @returns the log, for SaveStore.appendTicks
+     */
+    byte[] finish(DungeonManiaController dmc) {
+        writeByte(END);
+        writeInt(dmc.getTickCount());
+        writeLong(dmc.getListOfEntities().getRandom().getState());
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Plays a finished log on the game it was recorded from the save of.
+     * @throws IOException if the log is damaged, or playing it doesn't reach the game it was recorded on
+     */
+    static void replay(DataInput in, DungeonManiaController dmc) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a tick log");
+        }
+
+        try {
+            for (int command = in.readByte(); command != END; command = in.readByte()) {
+                switch (command) {
+                    case MOVE:
+                        dmc.advance(Direction.values()[in.readByte()]);
+                        break;
+                    case USE_ITEM:
+                        dmc.advance(in.readUTF());
+                        break;
+                    case BUILD:
+                        dmc.build(in.readUTF());
+                        break;
+                    case INTERACT:
+                        dmc.interact(in.readUTF());
+                        break;
+                    default:
+                        throw new IOException("Unknown tick log command " + command);
+                }
+            }
+        } catch (InvalidActionException | IllegalArgumentException e) {
+            throw new IOException("A logged command couldn't be played again", e);
+        }
+
+        int tickCount = in.readInt();
+        long randomState = in.readLong();
+        if (dmc.getTickCount() != tickCount || dmc.getListOfEntities().getRandom().getState() != randomState) {
+            throw new IOException("Playing the tick log didn't reach the game that was saved");
+        }
+    }
+
+    // Writing to a ByteArrayOutputStream can't fail, so these don't declare that it might.
+
+    private void writeByte(int value) {
+        try {
+            out.writeByte(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeInt(int value) {
+        try {
+            out.writeInt(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLong(long value) {
+        try {
+            out.writeLong(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeUTF(String value) {
+        try {
+            out.writeUTF(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
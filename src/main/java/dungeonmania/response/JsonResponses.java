@@ -0,0 +1,154 @@
+package dungeonmania.response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import dungeonmania.response.models.BattleResponse;
+import dungeonmania.response.models.EntityResponse;
+import dungeonmania.response.models.ItemResponse;
+import dungeonmania.response.models.RoundResponse;
+import dungeonmania.util.Position;
+
+/**
+ * Serializes responses for the frontend, streaming the JSON straight to the output instead of building it as a String.
+ *
+ * The responses there are many of in a large dungeon (entities, items, battles and rounds) are written by hand rather
+ * than by Gson's reflection. The JSON is the same as Gson's default serialization of the response.
+ */
+public final class JsonResponses {
+    private static final Gson GSON = new GsonBuilder()
+        .registerTypeAdapter(EntityResponse.class, new EntityAdapter().nullSafe())
+        .registerTypeAdapter(ItemResponse.class, new ItemAdapter().nullSafe())
+        .registerTypeAdapter(BattleResponse.class, new BattleAdapter().nullSafe())
+        .registerTypeAdapter(RoundResponse.class, new RoundAdapter().nullSafe())
+        .create();
+
+    private JsonResponses() {
+    }
+
+    /**
+     * Writes a response to the stream as UTF-8 JSON. The stream is flushed but left open.
+     */
+    public static void write(Object response, OutputStream out) throws IOException {
+        try (Utf8StreamWriter writer = Utf8StreamWriter.forStream(out)) {
+            JsonWriter json = new JsonWriter(writer);
+            GSON.toJson(response, response == null ? Object.class : response.getClass(), json);
+            json.flush();
+        }
+    }
+
+    public static String toJson(Object response) {
+        return GSON.toJson(response);
+    }
+
+    private static void writeItems(JsonWriter out, List<ItemResponse> items, ItemAdapter itemAdapter) throws IOException {
+        if (items == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginArray();
+        for (ItemResponse item : items) {
+            itemAdapter.write(out, item);
+        }
+        out.endArray();
+    }
+
+    // Responses only go out, so none of these read.
+    private abstract static class WriteOnlyAdapter<T> extends TypeAdapter<T> {
+        @Override
+        public T read(JsonReader in) {
+            throw new UnsupportedOperationException("Responses are only written");
+        }
+    }
+
+    private static final class EntityAdapter extends WriteOnlyAdapter<EntityResponse> {
+        @Override
+        public void write(JsonWriter out, EntityResponse entity) throws IOException {
+            out.beginObject();
+            out.name("id").value(entity.getId());
+            out.name("type").value(entity.getType());
+
+            Position position = entity.getPosition();
+            out.name("position");
+            if (position == null) {
+                out.nullValue();
+            } else {
+                out.beginObject();
+                out.name("x").value(position.getX());
+                out.name("y").value(position.getY());
+                out.name("layer").value(position.getLayer());
+                out.endObject();
+            }
+
+            out.name("isInteractable").value(entity.isInteractable());
+            out.endObject();
+        }
+    }
+
+    private static final class ItemAdapter extends WriteOnlyAdapter<ItemResponse> {
+        @Override
+        public void write(JsonWriter out, ItemResponse item) throws IOException {
+            if (item == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("id").value(item.getId());
+            out.name("type").value(item.getType());
+            out.endObject();
+        }
+    }
+
+    private static final class RoundAdapter extends WriteOnlyAdapter<RoundResponse> {
+        private final ItemAdapter itemAdapter = new ItemAdapter();
+
+        @Override
+        public void write(JsonWriter out, RoundResponse round) throws IOException {
+            if (round == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("deltaPlayerHealth").value(round.getDeltaCharacterHealth());
+            out.name("deltaEnemyHealth").value(round.getDeltaEnemyHealth());
+            out.name("weaponryUsed");
+            writeItems(out, round.getWeaponryUsed(), itemAdapter);
+            out.endObject();
+        }
+    }
+
+    private static final class BattleAdapter extends WriteOnlyAdapter<BattleResponse> {
+        private final RoundAdapter roundAdapter = new RoundAdapter();
+
+        @Override
+        public void write(JsonWriter out, BattleResponse battle) throws IOException {
+            out.beginObject();
+            out.name("enemy").value(battle.getEnemy());
+            out.name("initialPlayerHealth").value(battle.getInitialPlayerHealth());
+            out.name("initialEnemyHealth").value(battle.getInitialEnemyHealth());
+
+            out.name("rounds");
+            List<RoundResponse> rounds = battle.getRounds();
+            if (rounds == null) {
+                out.nullValue();
+            } else {
+                out.beginArray();
+                for (RoundResponse round : rounds) {
+                    roundAdapter.write(out, round);
+                }
+                out.endArray();
+            }
+            out.endObject();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package dungeonmania.response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes characters to an output stream as UTF-8 through buffers that are kept and reused for every response
+ * written on the same thread, so writing a response doesn't allocate in proportion to its size.
+ *
+ * A writer is only good for one stream at a time: get one with forStream, and close it when the response is written.
+ * Closing flushes to the stream but leaves the stream open.
+ */
+public final class Utf8StreamWriter extends Writer {
+    private static final int BUFFER_SIZE = 8192;
+    private static final ThreadLocal<Utf8StreamWriter> WRITERS = ThreadLocal.withInitial(Utf8StreamWriter::new);
+
+    private final char[] chars = new char[BUFFER_SIZE];
+    private final CharBuffer charBuffer = CharBuffer.wrap(chars);
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE * 3);
+    // Replaces what it can't encode, as an OutputStreamWriter would.
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private OutputStream out;
+    private int count;
+
+    private Utf8StreamWriter() {
+    }
+
+    /**
+     * @returns this thread's writer, set to write to the given stream
+     */
+    public static Utf8StreamWriter forStream(OutputStream out) {
+        Utf8StreamWriter writer = WRITERS.get();
+        if (writer.out != null)
+            throw new IllegalStateException("This thread is already writing a response");
+
+        writer.out = out;
+        writer.count = 0;
+        writer.encoder.reset();
+        return writer;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (count == chars.length)
+            encode(false);
+        chars[count++] = (char) c;
+    }
+
+    @Override
+    public void write(char[] source, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (count == chars.length)
+                encode(false);
+
+            int n = Math.min(length, chars.length - count);
+            System.arraycopy(source, offset, chars, count, n);
+            count += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    @Override
+    public void write(String source, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (count == chars.length)
+                encode(false);
+
+            int n = Math.min(length, chars.length - count);
+            source.getChars(offset, offset + n, chars, count);
+            count += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        encode(false);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out == null)
+            return;
+
+        try {
+            encode(true);
+            encoder.flush(bytes);
+            drain();
+            out.flush();
+        } finally {
+            out = null;
+            count = 0;
+        }
+    }
+
+    // Encodes the buffered characters. Half a surrogate pair at the end is kept back until the rest of it is written.
+    private void encode(boolean endOfInput) throws IOException {
+        charBuffer.clear().limit(count);
+        while (true) {
+            CoderResult result = encoder.encode(charBuffer, bytes, endOfInput);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException();
+            }
+        }
+        drain();
+
+        int left = charBuffer.remaining();
+        System.arraycopy(chars, charBuffer.position(), chars, 0, left);
+        count = left;
+    }
+
+    private void drain() throws IOException {
+        out.write(bytes.array(), 0, bytes.position());
+        bytes.clear();
+    }
+}
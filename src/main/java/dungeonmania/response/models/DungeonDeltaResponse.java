@@ -0,0 +1,84 @@
+package dungeonmania.response.models;
+
+import java.util.List;
+
+/**
+ * What changed in a dungeon since the client's last delta: the entities that were added or changed, the ids of the ones
+ * that were removed and the battles fought since, along with the rest of a DungeonResponse.
+ *
+ * Each delta has the next sequence number. A client that passes anything but the sequence number of the last delta it was
+ * sent gets a snapshot instead, with every entity and battle, which it should replace what it has with.
+ */
+public final class DungeonDeltaResponse {
+    private final String dungeonId;
+    private final String dungeonName;
+    private final long sequence;
+    private final boolean snapshot;
+    private final List<EntityResponse> entities;
+    private final List<String> removedEntities;
+    private final List<ItemResponse> inventory;
+    private final List<BattleResponse> battles;
+    private final List<String> buildables;
+    private final String goals;
+    private final List<AnimationQueue> animations;
+
+    public DungeonDeltaResponse(String dungeonId, String dungeonName, long sequence, boolean snapshot,
+            List<EntityResponse> entities, List<String> removedEntities, List<ItemResponse> inventory,
+            List<BattleResponse> battles, List<String> buildables, String goals, List<AnimationQueue> animations) {
+        this.dungeonId = dungeonId;
+        this.dungeonName = dungeonName;
+        this.sequence = sequence;
+        this.snapshot = snapshot;
+        this.entities = entities;
+        this.removedEntities = removedEntities;
+        this.inventory = inventory;
+        this.battles = battles;
+        this.buildables = buildables;
+        this.goals = goals;
+        this.animations = animations;
+    }
+
+    public final String getDungeonId() {
+        return dungeonId;
+    }
+
+    public final String getDungeonName() {
+        return dungeonName;
+    }
+
+    public final long getSequence() {
+        return sequence;
+    }
+
+    public final boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public final List<EntityResponse> getEntities() {
+        return entities;
+    }
+
+    public final List<String> getRemovedEntities() {
+        return removedEntities;
+    }
+
+    public final List<ItemResponse> getInventory() {
+        return inventory;
+    }
+
+    public final List<BattleResponse> getBattles() {
+        return battles;
+    }
+
+    public final List<String> getBuildables() {
+        return buildables;
+    }
+
+    public final String getGoals() {
+        return goals;
+    }
+
+    public List<AnimationQueue> getAnimations() {
+        return animations;
+    }
+}
@@ -0,0 +1,57 @@
+package dungeonmania.util;
+
+import java.io.Serializable;
+import java.util.Random;
+
+/**
+ * The source of every random choice in one game. Each entity that needs randomness is given its own
+ * Random split off this one when it joins the game, so a game started with the same seed replays exactly,
+ * and one entity drawing more or fewer numbers doesn't change what the others draw.
+ *
+ * Uses the SplitMix64 generator (as java.util.SplittableRandom does), which unlike SplittableRandom can be saved.
+ */
+public final class GameRandom implements Serializable {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private long state;
+
+    public GameRandom(long seed) {
+        this(seed, seed);
+    }
+
+    // A game part way through, as saved by getSeed and getState.
+    public GameRandom(long seed, long state) {
+        this.seed = seed;
+        this.state = state;
+    }
+
+    /**
+     * @returns a game seeded from the clock, for games that weren't given a seed.
+     */
+    public static GameRandom unseeded() {
+        return new GameRandom(new Random().nextLong());
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getState() {
+        return state;
+    }
+
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @returns a new Random of its own, seeded from the next number of this one.
+     */
+    public Random split() {
+        return new SavableRandom(nextLong());
+    }
+}
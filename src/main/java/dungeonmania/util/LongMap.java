@@ -0,0 +1,107 @@
+package dungeonmania.util;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from long keys to non-null values that doesn't box its keys, for maps keyed by packed tile
+ * coordinates (see Position.pack). Uses open addressing with linear probing.
+ */
+public class LongMap<V> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size = 0;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean containsKey(long key) {
+        return values[find(key)] != null;
+    }
+
+    /**
+     * @returns the value for the key, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        return (V) values[find(key)];
+    }
+
+    public void put(long key, V value) {
+        if (value == null)
+            throw new IllegalArgumentException("LongMap can't hold null values");
+
+        int slot = find(key);
+        if (values[slot] == null) {
+            if (2 * (size + 1) > keys.length) {
+                resize(keys.length * 2);
+                slot = find(key);
+            }
+
+            keys[slot] = key;
+            size++;
+        }
+
+        values[slot] = value;
+    }
+
+    public void remove(long key) {
+        int slot = find(key);
+        if (values[slot] == null)
+            return;
+
+        values[slot] = null;
+        size--;
+
+        // move later entries of the probe run back, so lookups never stop at the hole
+        int mask = keys.length - 1;
+        int hole = slot;
+        for (int i = (slot + 1) & mask; values[i] != null; i = (i + 1) & mask) {
+            int home = indexFor(keys[i]);
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                values[i] = null;
+                hole = i;
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    // the slot holding the key, or the empty slot where it would go
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int i = indexFor(key);
+        while (values[i] != null && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+
+        return i;
+    }
+
+    private int indexFor(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (keys.length - 1);
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[capacity];
+        values = new Object[capacity];
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
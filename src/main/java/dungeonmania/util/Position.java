@@ -1,27 +1,75 @@
 package dungeonmania.util;
 
-import java.util.ArrayList;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 
 public final class Position {
     private final int x, y, layer;
 
+    // Positions on layer 0 inside this window are shared: Position.of always returns the same object for them.
+    // Shared positions remember their neighbours the first time they are asked for, and the neighbours are
+    // shared positions too, so they form a fixed neighbour table over the dungeon and walking around it doesn't allocate.
+    private static final int SHARED_MIN = -64;
+    private static final int SHARED_SIZE = 512;
+    private static final Position[][] SHARED = new Position[SHARED_SIZE][];
+
+    // Transient so that responses serialized by reflection only carry the coordinates.
+    private final transient boolean shared;
+    private transient List<Position> adjacentPositions;
+    private transient List<Position> cardinallyAdjacentPositions;
+
     public Position(int x, int y, int layer) {
         this.x = x;
         this.y = y;
         this.layer = layer;
+        this.shared = false;
     }
 
     public Position(int x, int y) {
+        this(x, y, 0);
+    }
+
+    private Position(int x, int y, boolean shared) {
         this.x = x;
         this.y = y;
         this.layer = 0;
+        this.shared = shared;
     }
 
+    /**
+     * @returns a position on layer 0 at the given coordinates, shared with every other caller asking for them
+     * if they are in the shared window.
+     */
+    public static Position of(int x, int y) {
+        int i = x - SHARED_MIN;
+        int j = y - SHARED_MIN;
+        if (i < 0 || i >= SHARED_SIZE || j < 0 || j >= SHARED_SIZE)
+            return new Position(x, y);
+
+        // racing callers may each create a column or position; the loser's copy is just an unshared duplicate
+        Position[] column = SHARED[i];
+        if (column == null) {
+            column = new Position[SHARED_SIZE];
+            SHARED[i] = column;
+        }
+
+        Position position = column[j];
+        if (position == null) {
+            position = new Position(x, y, true);
+            column[j] = position;
+        }
+
+        return position;
+    }
+
+    // Like equals, ignores the layer.
     @Override
     public final int hashCode() {
-        return Objects.hash(x, y, layer);
+        return 31 * x + y;
     }
 
     @Override
@@ -50,6 +98,37 @@ public final class Position {
         return layer;
     }
 
+    /**
+     * @returns the coordinates packed into one long (x in the high half, y in the low half),
+     * for maps keyed by tile that shouldn't box a key per lookup. Like equals, ignores the layer.
+     */
+    public final long pack() {
+        return pack(x, y);
+    }
+
+    public static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    public static Position unpack(long packed) {
+        return Position.of((int) (packed >> 32), (int) packed);
+    }
+
+    /**
+     * Writes a position, or null, for a saved game. Like equals, ignores the layer.
+     */
+    public static void write(DataOutput out, Position position) throws IOException {
+        out.writeBoolean(position != null);
+        if (position != null) {
+            out.writeInt(position.x);
+            out.writeInt(position.y);
+        }
+    }
+
+    public static Position read(DataInput in) throws IOException {
+        return in.readBoolean() ? Position.of(in.readInt(), in.readInt()) : null;
+    }
+
     public final Position asLayer(int layer) {
         return new Position(x, y, layer);
     }
@@ -59,7 +138,22 @@ public final class Position {
     }
 
     public final Position translateBy(Direction direction) {
-        return this.translateBy(direction.getOffset());
+        if (layer != 0) {
+            return this.translateBy(direction.getOffset());
+        }
+
+        switch (direction) {
+            case LEFT:
+                return getCardinallyAdjacentPositions().get(0);
+            case RIGHT:
+                return getCardinallyAdjacentPositions().get(1);
+            case UP:
+                return getCardinallyAdjacentPositions().get(2);
+            case DOWN:
+                return getCardinallyAdjacentPositions().get(3);
+            default:
+                return this.translateBy(direction.getOffset());
+        }
     }
 
     public final Position translateBy(Position position) {
@@ -95,16 +189,45 @@ public final class Position {
     // 0 1 2
     // 7 p 3
     // 6 5 4
+    // The list can't be modified.
     public List<Position> getAdjacentPositions() {
-        List<Position> adjacentPositions = new ArrayList<>();
-        adjacentPositions.add(new Position(x-1, y-1));
-        adjacentPositions.add(new Position(x  , y-1));
-        adjacentPositions.add(new Position(x+1, y-1));
-        adjacentPositions.add(new Position(x+1, y));
-        adjacentPositions.add(new Position(x+1, y+1));
-        adjacentPositions.add(new Position(x  , y+1));
-        adjacentPositions.add(new Position(x-1, y+1));
-        adjacentPositions.add(new Position(x-1, y));
-        return adjacentPositions;
+        List<Position> adjacent = adjacentPositions;
+        if (adjacent == null) {
+            adjacent = Collections.unmodifiableList(Arrays.asList(
+                Position.of(x-1, y-1),
+                Position.of(x  , y-1),
+                Position.of(x+1, y-1),
+                Position.of(x+1, y),
+                Position.of(x+1, y+1),
+                Position.of(x  , y+1),
+                Position.of(x-1, y+1),
+                Position.of(x-1, y)
+            ));
+
+            // only shared positions remember, so unshared ones can't grow chains of lists
+            if (shared)
+                adjacentPositions = adjacent;
+        }
+
+        return adjacent;
+    }
+
+    // Return cardinally adjacent positions in the order left, right, up, down.
+    // The list can't be modified.
+    public List<Position> getCardinallyAdjacentPositions() {
+        List<Position> cardinal = cardinallyAdjacentPositions;
+        if (cardinal == null) {
+            cardinal = Collections.unmodifiableList(Arrays.asList(
+                Position.of(x-1, y),
+                Position.of(x+1, y),
+                Position.of(x, y-1),
+                Position.of(x, y+1)
+            ));
+
+            if (shared)
+                cardinallyAdjacentPositions = cardinal;
+        }
+
+        return cardinal;
     }
 }
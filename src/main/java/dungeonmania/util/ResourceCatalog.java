@@ -0,0 +1,50 @@
+package dungeonmania.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The names of the files in each resource directory, listed once rather than every time they are asked for. Listing a
+ * directory scans the whole classpath, and the menus ask for the dungeons and configs every time they are shown.
+ *
+ * The resources can't change while they are in a jar. When they are files being worked on, refresh lists them again.
+ */
+public final class ResourceCatalog {
+    private static final Map<String, List<String>> listings = new ConcurrentHashMap<>();
+
+    private ResourceCatalog() {
+    }
+
+    /**
+     * Lists each of the given directories now, so the first to ask for one doesn't wait for the classpath to be scanned.
+     */
+    public static void load(String... directories) {
+        for (String directory : directories) {
+            list(directory);
+        }
+    }
+
+    /**
+     * @param directory The directory relative to `resources`, like `dungeons`
+     * @return the file names in the directory, sorted, without their extensions. The list can't be changed.
+     */
+    public static List<String> list(String directory) {
+        return listings.computeIfAbsent(directory, ResourceCatalog::scan);
+    }
+
+    /**
+     * Lists every directory again the next time it is asked for, to pick up files added or removed since.
+     */
+    public static void refresh() {
+        listings.clear();
+    }
+
+    private static List<String> scan(String directory) {
+        List<String> names = new ArrayList<>(FileLoader.listFileNamesInResourceDirectory(directory));
+        Collections.sort(names);
+        return Collections.unmodifiableList(names);
+    }
+}
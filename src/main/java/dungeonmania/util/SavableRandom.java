@@ -0,0 +1,40 @@
+package dungeonmania.util;
+
+import java.util.Random;
+
+/**
+ * A java.util.Random that draws exactly the same numbers as one with the same seed, but whose state can be read
+ * and restored, so a saved game keeps drawing the numbers it would have drawn had it not been saved.
+ */
+public final class SavableRandom extends Random {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // No initializer: Random's constructor sets this through setSeed before this class's fields would be initialized.
+    private long state;
+
+    public SavableRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        this.state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
@@ -0,0 +1,100 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static dungeonmania.SaveFileTests.layout;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.util.Direction;
+
+import java.io.IOException;
+import java.util.Random;
+
+public class AutosaveTests {
+    @BeforeEach
+    public void useTemporarySaves() throws IOException {
+        TestUtils.useTemporarySaves();
+    }
+
+    private static void assertAutosavesReplay(String dungeonName, String configName, String saveName) {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame(dungeonName, configName, 7L);
+        dmc.setAutosave(saveName, 3);
+        Random moves = new Random(7);
+        int replayed = 0;
+
+        for (int tick = 0; tick < 40 && !dmc.isGameOver(); tick++) {
+            dmc.tick(Direction.values()[moves.nextInt(4)]);
+            if (dmc.getTickCount() % 3 == 0) {
+                replayed = Math.max(replayed, SaveStore.getDefault().tickLogs(saveName));
+                DungeonManiaController loaded = new DungeonManiaController();
+                assertEquals(layout(dmc.getDungeonResponseModel()), layout(loaded.loadGame(saveName)));
+                assertEquals(dmc.getTickCount(), loaded.getTickCount());
+            }
+        }
+        assertTrue(replayed > 0);
+    }
+
+    @Test
+    @DisplayName("Test a game autosaved as ticks played on from a save loads as the game that was played")
+    public void testAutosavesReplay() {
+        assertAutosavesReplay("d_systemTest_multipleEntities", "c_systemTest_playerWins", "autosave_system");
+        assertAutosavesReplay("d_spiderTest_spawnEveryTick", "c_spiderTest_spawnEveryTick", "autosave_spiders");
+        assertAutosavesReplay("d_zombieTest_spawnEveryTick", "c_zombieTest_spawnEveryTick", "autosave_zombies");
+        assertAutosavesReplay("d_swampTileTest_hydraAndAssassin", "c_swampTileTest_movementFactor5", "autosave_hydra");
+    }
+
+    @Test
+    @DisplayName("Test an autosave only adds what was played since the last save, until it is time for a whole game")
+    public void testAutosavesAreSmall() {
+        SaveStore store = SaveStore.getDefault();
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_systemTest_multipleEntities", "c_systemTest_playerWins");
+
+        store.flush();
+        long before = store.size();
+        dmc.saveGame("autosave_small");
+        store.flush();
+        long game = store.size() - before;
+
+        dmc.tick(Direction.DOWN);
+        dmc.tick(Direction.UP);
+        store.flush();
+        before = store.size();
+        dmc.autosaveGame("autosave_small");
+        store.flush();
+        assertEquals(1, store.tickLogs("autosave_small"));
+        assertTrue(store.size() - before < 64, "an autosave of two moves took " + (store.size() - before) + " bytes");
+
+        int logs = 1;
+        while (store.tickLogs("autosave_small") == logs) {
+            dmc.tick(Direction.DOWN);
+            dmc.autosaveGame("autosave_small");
+            logs++;
+        }
+        assertEquals(0, store.tickLogs("autosave_small"));
+        assertTrue(logs > 10 && logs <= 65, logs + " autosaves before the whole game was saved again, of " + game + " bytes");
+    }
+
+    @Test
+    @DisplayName("Test an autosave after someone else saves under the same name saves the whole game")
+    public void testAutosaveAfterOtherSave() throws IOException, ClassNotFoundException {
+        DungeonManiaController mine = new DungeonManiaController();
+        mine.newGame("d_systemTest_multipleEntities", "c_systemTest_playerWins");
+        mine.saveGame("autosave_shared");
+
+        DungeonManiaController theirs = new DungeonManiaController();
+        theirs.newGame("d_exitTest_basicExit", "c_playerTest_basicMovement");
+        theirs.saveGame("autosave_shared");
+
+        mine.tick(Direction.DOWN);
+        mine.autosaveGame("autosave_shared");
+        assertEquals(0, SaveStore.getDefault().tickLogs("autosave_shared"));
+        assertEquals(layout(mine.getDungeonResponseModel()),
+            layout(SaveStore.getDefault().load("autosave_shared").getDungeonResponseModel()));
+    }
+}
@@ -0,0 +1,140 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static dungeonmania.TestUtils.getEntities;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.exceptions.InvalidActionException;
+import dungeonmania.response.models.DungeonDeltaResponse;
+import dungeonmania.response.models.DungeonResponse;
+import dungeonmania.response.models.EntityResponse;
+import dungeonmania.util.Direction;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class DeltaResponseTests {
+    // What a client holds: a snapshot with every delta since applied to it.
+    private static void apply(Map<String, EntityResponse> client, DungeonDeltaResponse delta) {
+        if (delta.isSnapshot())
+            client.clear();
+        for (String id : delta.getRemovedEntities()) {
+            client.remove(id);
+        }
+        for (EntityResponse entity : delta.getEntities()) {
+            client.put(entity.getId(), entity);
+        }
+    }
+
+    private static Map<String, EntityResponse> byId(DungeonResponse res) {
+        Map<String, EntityResponse> entities = new HashMap<>();
+        for (EntityResponse entity : res.getEntities()) {
+            entities.put(entity.getId(), entity);
+        }
+
+        return entities;
+    }
+
+    private static void assertDeltasMatchResponses(String dungeonName, String configName) {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame(dungeonName, configName, 3L);
+        Random moves = new Random(3);
+
+        Map<String, EntityResponse> client = new HashMap<>();
+        DungeonDeltaResponse delta = dmc.getDungeonDelta(0);
+        apply(client, delta);
+        assertEquals(byId(dmc.getDungeonResponseModel()), client);
+
+        for (int tick = 0; tick < 30 && !dmc.isGameOver(); tick++) {
+            delta = dmc.tickDelta(Direction.values()[moves.nextInt(4)], delta.getSequence());
+            assertFalse(delta.isSnapshot());
+            apply(client, delta);
+            assertEquals(byId(dmc.getDungeonResponseModel()), client);
+        }
+    }
+
+    @Test
+    @DisplayName("Test applying each tick's delta gives the same entities as a full response")
+    public void testDeltasMatchResponses() {
+        assertDeltasMatchResponses("d_systemTest_multipleEntities", "c_systemTest_playerWins");
+        assertDeltasMatchResponses("d_spiderTest_spawnEveryTick", "c_spiderTest_spawnEveryTick");
+        assertDeltasMatchResponses("d_mercenaryTest_multipleFollowPlayer", "c_mercenaryTest_followPlayer");
+        assertDeltasMatchResponses("d_portalTest_basicTeleport", "c_playerTest_basicMovement");
+        assertDeltasMatchResponses("d_battleTest_basicZombie", "c_battleTests_basicZombieZombieDies");
+    }
+
+    @Test
+    @DisplayName("Test a delta only has what changed, including removed entities and new battles")
+    public void testDeltaOnlyHasChanges() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        DungeonResponse res = dmc.newGame("d_battleTest_basicMercenary", "c_battleTests_basicMercenaryMercenaryDies");
+        String mercenary = getEntities(res, "mercenary").get(0).getId();
+
+        DungeonDeltaResponse snapshot = dmc.getDungeonDelta(0);
+        assertTrue(snapshot.isSnapshot());
+        assertEquals(res.getEntities().size(), snapshot.getEntities().size());
+
+        // nothing has happened since the snapshot
+        DungeonDeltaResponse delta = dmc.getDungeonDelta(snapshot.getSequence());
+        assertFalse(delta.isSnapshot());
+        assertEquals(snapshot.getSequence() + 1, delta.getSequence());
+        assertTrue(delta.getEntities().isEmpty());
+        assertTrue(delta.getRemovedEntities().isEmpty());
+
+        // player  [  ]  merc: they meet in the middle and the mercenary dies
+        delta = dmc.tickDelta(Direction.RIGHT, delta.getSequence());
+        assertEquals(1, delta.getEntities().size());
+        assertEquals("player", delta.getEntities().get(0).getType());
+        assertEquals(mercenary, delta.getRemovedEntities().get(0));
+        assertEquals(1, delta.getBattles().size());
+
+        // battles are only sent once
+        delta = dmc.getDungeonDelta(delta.getSequence());
+        assertTrue(delta.getBattles().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test bribing a mercenary sends it as changed")
+    public void testInteractableChangeIsSent() throws InvalidActionException {
+        DungeonManiaController dmc = new DungeonManiaController();
+        DungeonResponse res = dmc.newGame("d_battleTest_allyBackup", "c_battleTest_allyBackup");
+        dmc.tick(Direction.RIGHT);
+        dmc.tick(Direction.RIGHT);
+        res = dmc.tick(Direction.RIGHT);
+        EntityResponse merc = getEntities(res, "mercenary").get(0);
+        assertTrue(merc.isInteractable());
+
+        DungeonDeltaResponse delta = dmc.getDungeonDelta(0);
+        dmc.interact(merc.getId());
+        delta = dmc.getDungeonDelta(delta.getSequence());
+
+        assertEquals(1, delta.getEntities().size());
+        assertEquals(merc.getId(), delta.getEntities().get(0).getId());
+        assertFalse(delta.getEntities().get(0).isInteractable());
+    }
+
+    @Test
+    @DisplayName("Test a client that missed a delta, or a new game, gets a snapshot")
+    public void testSnapshotOnDemand() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        DungeonResponse res = dmc.newGame("d_exitTest_basicExit", "c_playerTest_basicMovement");
+
+        DungeonDeltaResponse first = dmc.getDungeonDelta(0);
+        DungeonDeltaResponse second = dmc.tickDelta(Direction.UP, first.getSequence());
+        assertFalse(second.isSnapshot());
+
+        // the client still thinks it has the first
+        DungeonDeltaResponse resent = dmc.getDungeonDelta(first.getSequence());
+        assertTrue(resent.isSnapshot());
+        assertEquals(res.getEntities().size(), resent.getEntities().size());
+
+        dmc.newGame("d_exitTest_basicExit", "c_playerTest_basicMovement");
+        assertTrue(dmc.getDungeonDelta(resent.getSequence()).isSnapshot());
+    }
+}
@@ -0,0 +1,124 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static dungeonmania.TestUtils.countEntityOfType;
+import static dungeonmania.TestUtils.getGoals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import dungeonmania.Generation.DungeonGenerator;
+import dungeonmania.response.models.DungeonResponse;
+import dungeonmania.util.Direction;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class DungeonGeneratorTests {
+    private static DungeonGenerator exampleGenerator(long seed) {
+        DungeonGenerator generator = new DungeonGenerator(40, 30, seed);
+        generator.setWallDensity(0.2);
+        generator.setCount("mercenary", 12);
+        generator.setCount("zombie_toast_spawner", 3);
+        generator.setCount("treasure", 5);
+        generator.setPortalPairs(2);
+        generator.setDoorKeyPairs(2);
+        generator.setBoulderSwitchPairs(4);
+        generator.setGoals(DungeonGenerator.and(DungeonGenerator.goal("exit"),
+            DungeonGenerator.or(DungeonGenerator.goal("treasure"), DungeonGenerator.goal("boulders"))));
+        return generator;
+    }
+
+    private static Map<String, Integer> countTypes(JsonArray entities) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (JsonElement entity : entities) {
+            counts.merge(entity.getAsJsonObject().get("type").getAsString(), 1, Integer::sum);
+        }
+
+        return counts;
+    }
+
+    @Test
+    @DisplayName("Test the same settings and seed always generate the same dungeon")
+    public void testGeneratorIsSeeded() {
+        assertEquals(exampleGenerator(7).generate(), exampleGenerator(7).generate());
+        assertNotEquals(exampleGenerator(7).generate(), exampleGenerator(8).generate());
+    }
+
+    @Test
+    @DisplayName("Test a generated dungeon has what was asked for, one entity per tile, inside its walls")
+    public void testGeneratedContents() {
+        JsonObject dungeon = JsonParser.parseString(exampleGenerator(7).generate()).getAsJsonObject();
+        JsonArray entities = dungeon.get("entities").getAsJsonArray();
+
+        Map<String, Integer> counts = countTypes(entities);
+        assertEquals(1, counts.get("player"));
+        assertEquals(1, counts.get("exit"));
+        assertEquals(12, counts.get("mercenary"));
+        assertEquals(3, counts.get("zombie_toast_spawner"));
+        assertEquals(5, counts.get("treasure"));
+        assertEquals(4, counts.get("portal"));
+        assertEquals(2, counts.get("door"));
+        assertEquals(2, counts.get("key"));
+        assertEquals(4, counts.get("boulder"));
+        assertEquals(4, counts.get("switch"));
+
+        Set<String> tiles = new HashSet<>();
+        for (JsonElement element : entities) {
+            JsonObject entity = element.getAsJsonObject();
+            int x = entity.get("x").getAsInt();
+            int y = entity.get("y").getAsInt();
+            assertTrue(x >= 0 && x < 40 && y >= 0 && y < 30);
+            assertTrue(tiles.add(x + "," + y));
+
+            boolean edge = x == 0 || y == 0 || x == 39 || y == 29;
+            if (edge)
+                assertEquals("wall", entity.get("type").getAsString());
+        }
+
+        assertEquals("AND", dungeon.get("goal-condition").getAsJsonObject().get("goal").getAsString());
+    }
+
+    @Test
+    @DisplayName("Test the generator refuses to place more entities than there is room for")
+    public void testGeneratorRunsOutOfRoom() {
+        DungeonGenerator generator = new DungeonGenerator(5, 5, 1);
+        generator.setCount("treasure", 8);
+        assertThrows(IllegalArgumentException.class, generator::generate);
+        assertThrows(IllegalArgumentException.class, () -> generator.setCount("portal", 1));
+    }
+
+    @Test
+    @DisplayName("Test a generated dungeon can be played")
+    public void testGeneratedDungeonLoads() throws Exception {
+        // dungeons are loaded by name from the classpath, so the generated one is written next to the test dungeons
+        File dungeons = new File(getClass().getResource("/dungeons/d_exitTest_basicExit.json").toURI()).getParentFile();
+        Path file = dungeons.toPath().resolve("d_generatorTest_generated.json");
+        exampleGenerator(7).writeTo(file);
+
+        try {
+            DungeonManiaController dmc = new DungeonManiaController();
+            DungeonResponse res = dmc.newGame("d_generatorTest_generated", "c_playerTest_basicMovement");
+            assertEquals(12, countEntityOfType(res, "mercenary"));
+            assertEquals(4, countEntityOfType(res, "portal"));
+            assertEquals("(:exit AND (:treasure OR :boulders))", getGoals(res));
+
+            dmc.tick(Direction.UP);
+        } finally {
+            file.toFile().delete();
+        }
+    }
+}
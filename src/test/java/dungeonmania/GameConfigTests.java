@@ -0,0 +1,45 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static dungeonmania.TestUtils.getValueFromConfigFile;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class GameConfigTests {
+    @Test
+    @DisplayName("Test a config file's values are parsed once into numbers")
+    public void testConfigIsParsed() {
+        GameConfig config = ReadJSONFiles.readConfigFile("c_swampTileTest_movementFactor5");
+        assertEquals(Double.parseDouble(getValueFromConfigFile("player_health", "c_swampTileTest_movementFactor5")), config.getPlayerHealth());
+        assertEquals(Integer.parseInt(getValueFromConfigFile("spider_spawn_rate", "c_swampTileTest_movementFactor5")), config.getSpiderSpawnRate());
+        assertEquals(Double.parseDouble(getValueFromConfigFile("assassin_health", "c_swampTileTest_movementFactor5")), config.getAssassinHealth());
+        assertNull(config.getSeed());
+
+        // the values are kept as written, which is what a save holds
+        assertEquals(config.getPlayerHealth(), new GameConfig(config.getValues()).getPlayerHealth());
+    }
+
+    @Test
+    @DisplayName("Test a config missing a value the game plays by, or with one it can't play by, is rejected")
+    public void testInvalidConfigs() {
+        Map<String, String> values = new HashMap<>(ReadJSONFiles.readConfigFile("c_systemTest_playerWins").getValues());
+        values.remove("assassin_health");
+        assertEquals(0, new GameConfig(values).getAssassinHealth());
+
+        values.put("spider_spawn_rate", "0.5");
+        assertThrows(IllegalArgumentException.class, () -> new GameConfig(values));
+        values.put("spider_spawn_rate", "-1");
+        assertThrows(IllegalArgumentException.class, () -> new GameConfig(values));
+        values.put("spider_spawn_rate", "\"often\"");
+        assertThrows(IllegalArgumentException.class, () -> new GameConfig(values));
+        values.remove("spider_spawn_rate");
+        assertThrows(IllegalArgumentException.class, () -> new GameConfig(values));
+    }
+}
@@ -24,6 +24,7 @@ import java.util.stream.Collectors;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import dungeonmania.Entities.Moving.Hydra;
 import dungeonmania.response.models.BattleResponse;
 import dungeonmania.response.models.DungeonResponse;
 import dungeonmania.response.models.EntityResponse;
@@ -125,4 +126,40 @@ public class HydraTests {
         }
     }
 
+    @Test
+    @DisplayName("Test a hydra's moves don't change what the rest of a seeded game draws, or the hydra's own seed")
+    public void testHydraMovesDontChangeOtherRolls() {
+        List<List<Position>> otherMoves = new ArrayList<>();
+        for (int game = 0; game < 2; game++) {
+            DungeonManiaController dmc = new DungeonManiaController();
+            DungeonResponse res = dmc.newGame("d_hydraTest_moveBasic", "c_hydraTest_basic", 2022L);
+            List<Hydra> hydras = dmc.getListOfEntities().stream()
+                                                        .filter(e -> e instanceof Hydra)
+                                                        .map(e -> (Hydra) e)
+                                                        .collect(Collectors.toList());
+            Hydra moved = hydras.get(0);
+            Hydra other = hydras.get(1);
+            long movedSeed = moved.getSeed();
+            long otherSeed = other.getSeed();
+
+            // the second game's first hydra makes one more move, staying where it is
+            if (game == 1) {
+                moved.getRandPos(dmc.getListOfEntities(), Arrays.asList(moved.getCurrentLocation()));
+            }
+
+            List<Position> moves = new ArrayList<>();
+            for (int tick = 0; tick < 6; tick++) {
+                res = dmc.tick(Direction.DOWN);
+                moves.add(other.getCurrentLocation());
+                getEntities(res, "spider").forEach(spider -> moves.add(spider.getPosition()));
+            }
+            otherMoves.add(moves);
+
+            assertEquals(movedSeed, moved.getSeed());
+            assertEquals(otherSeed, other.getSeed());
+        }
+
+        assertTrue(otherMoves.get(0).size() > 6);
+        assertEquals(otherMoves.get(0), otherMoves.get(1));
+    }
 }
@@ -0,0 +1,87 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+
+import dungeonmania.response.JsonResponses;
+import dungeonmania.response.Utf8StreamWriter;
+import dungeonmania.response.models.DungeonResponse;
+import dungeonmania.response.models.GenericResponseWrapper;
+import dungeonmania.util.Direction;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+public class JsonResponsesTests {
+    private static String streamed(Object response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonResponses.write(response, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Test a streamed response is the same JSON Gson builds for it")
+    public void testStreamedMatchesGson() throws IOException {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_battleTest_basicMercenary", "c_battleTests_basicMercenaryMercenaryDies");
+        // player  [  ]  merc: they battle, so the response has rounds and weaponry
+        DungeonResponse res = dmc.tick(Direction.RIGHT);
+        assertEquals(1, res.getBattles().size());
+
+        GenericResponseWrapper<DungeonResponse> wrapped = GenericResponseWrapper.Ok(res);
+        assertEquals(new Gson().toJson(wrapped), streamed(wrapped));
+        assertEquals(new Gson().toJson(wrapped), JsonResponses.toJson(wrapped));
+
+        GenericResponseWrapper<DungeonResponse> error = GenericResponseWrapper.Err(new IllegalArgumentException("<bad> & \"worse\""));
+        assertEquals(new Gson().toJson(error), streamed(error));
+    }
+
+    @Test
+    @DisplayName("Test a large dungeon streams the same JSON Gson builds for it")
+    public void testLargeResponse() throws IOException {
+        DungeonManiaController dmc = new DungeonManiaController();
+        DungeonResponse res = dmc.newGame("d_systemTest_multipleEntities", "c_systemTest_playerWins");
+
+        // more than fills the writer's buffers a few times over
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            expected.append(new Gson().toJson(res));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Writer writer = Utf8StreamWriter.forStream(out)) {
+            for (int i = 0; i < 50; i++) {
+                writer.write(JsonResponses.toJson(res));
+            }
+        }
+        assertEquals(expected.toString(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Test characters are encoded as UTF-8, including pairs split across the writer's buffer")
+    public void testUtf8() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            text.append("a\u00e9\u4e2d\ud83d\udc09");
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Writer writer = Utf8StreamWriter.forStream(out)) {
+            writer.write(text.toString());
+        }
+        assertEquals(text.toString(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        // the writer is reused for the next response
+        out.reset();
+        try (Writer writer = Utf8StreamWriter.forStream(out)) {
+            writer.write('x');
+        }
+        assertEquals("x", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
@@ -56,6 +56,48 @@ public class MercenaryTests {
         assertEquals(expectedPos, mPos);
     }
 
+    @Test
+    @DisplayName("Test multiple mercenaries all follow the player")
+    public void testMultipleMercsFollowPlayer() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        DungeonResponse res = dmc.newGame("d_mercenaryTest_multipleFollowPlayer", "c_mercenaryTest_followPlayer");
+
+        // the player is against a wall, so moving up keeps them in place
+        for (int i = 1; i <= 3; i++) {
+            res = dmc.tick(Direction.UP);
+
+            List<Position> mercPositions = getEntities(res, "mercenary").stream()
+                                                                          .map(EntityResponse::getPosition)
+                                                                          .collect(Collectors.toList());
+            assertTrue(mercPositions.contains(new Position(5 - i, 1)));
+            assertTrue(mercPositions.contains(new Position(1, 5 - i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Test the mercenary starts following once a door between it and the player is opened")
+    public void testMercenaryFollowsAfterDoorOpens() {
+        //
+        //  wall  wall  wall  wall  wall  wall  wall  wall  wall
+        //  wall  player key  door                    merc  wall
+        //  wall  wall  wall  wall  wall  wall  wall  wall  wall
+        //
+        DungeonManiaController dmc = new DungeonManiaController();
+        DungeonResponse res = dmc.newGame("d_mercenaryTest_doorOpensBetweenTicks", "c_mercenaryTest_followPlayer");
+
+        // the door is still locked, so the mercenary has no way to the player
+        res = dmc.tick(Direction.RIGHT);
+        assertEquals(new Position(7, 1), getEntities(res, "mercenary").get(0).getPosition());
+
+        // the player unlocks the door with the key
+        res = dmc.tick(Direction.RIGHT);
+        assertEquals(new Position(3, 1), getPlayer(res).get().getPosition());
+        assertEquals(new Position(6, 1), getEntities(res, "mercenary").get(0).getPosition());
+
+        res = dmc.tick(Direction.LEFT);
+        assertEquals(new Position(5, 1), getEntities(res, "mercenary").get(0).getPosition());
+    }
+
     @Test
     @DisplayName("Test that the mercenary is blocked by walls, doors and boulders")
     public void testMercenaryIsBlocked() {
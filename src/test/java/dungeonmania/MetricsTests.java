@@ -0,0 +1,89 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.Metrics.Histogram;
+import dungeonmania.Metrics.TickMetrics;
+import dungeonmania.Metrics.TickPhase;
+import dungeonmania.util.Direction;
+
+public class MetricsTests {
+    @Test
+    @DisplayName("Test a histogram puts each value in the smallest bucket it fits under")
+    public void testHistogramBuckets() {
+        Histogram histogram = new Histogram(2, 4);
+        // buckets up to 4, 8 and 16, then everything larger
+        histogram.record(0);
+        histogram.record(4);
+        histogram.record(5);
+        histogram.record(16);
+        histogram.record(1000);
+
+        assertEquals(3, histogram.getBucketCount());
+        assertEquals(4, histogram.getUpperBound(0));
+        assertEquals(2, histogram.getCumulativeCount(0));
+        assertEquals(3, histogram.getCumulativeCount(1));
+        assertEquals(4, histogram.getCumulativeCount(2));
+        assertEquals(5, histogram.getCount());
+        assertEquals(1025, histogram.getSum());
+    }
+
+    @Test
+    @DisplayName("Test every phase of a movement tick is timed, and building the response separately")
+    public void testMovementTickPhases() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_mercenaryTest_followPlayer", "c_mercenaryTest_followPlayer");
+
+        long[] before = new long[TickPhase.values().length];
+        for (TickPhase phase : TickPhase.values()) {
+            before[phase.ordinal()] = TickMetrics.getPhase(phase).getCount();
+        }
+        long ticksBefore = TickMetrics.getTickEntities().getCount();
+        long settledBefore = TickMetrics.getPathCellsSettled();
+
+        dmc.tick(Direction.RIGHT);
+        dmc.advance(Direction.LEFT);
+
+        for (TickPhase phase : new TickPhase[] { TickPhase.PLAYER_MOVES_BOULDER, TickPhase.CHECK_DOORS, TickPhase.PLAYER_MOVE,
+                TickPhase.BOULDER_CHECK, TickPhase.CHECK_BATTLES, TickPhase.PORTAL_CHECK, TickPhase.MOVE_ENEMY }) {
+            assertTrue(TickMetrics.getPhase(phase).getCount() >= before[phase.ordinal()] + 2);
+        }
+        assertTrue(TickMetrics.getPhase(TickPhase.CREATE_RESPONSE).getCount() >= before[TickPhase.CREATE_RESPONSE.ordinal()] + 1);
+        assertTrue(TickMetrics.getTickEntities().getCount() >= ticksBefore + 2);
+        // the mercenary asked its distance field for a step
+        assertTrue(TickMetrics.getPathCellsSettled() > settledBefore);
+    }
+
+    @Test
+    @DisplayName("Test battles are counted")
+    public void testBattlesCounted() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_battleTest_basicZombie", "c_battleTests_basicZombieZombieDies");
+        long battlesBefore = TickMetrics.getBattles();
+
+        // player  zombie
+        dmc.tick(Direction.RIGHT);
+
+        assertTrue(TickMetrics.getBattles() >= battlesBefore + 1);
+    }
+
+    @Test
+    @DisplayName("Test the metrics are scraped in the Prometheus text format")
+    public void testScrape() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_exitTest_basicExit", "c_playerTest_basicMovement");
+        dmc.tick(Direction.UP);
+
+        String scrape = TickMetrics.scrape();
+        assertTrue(scrape.contains("# TYPE dungeonmania_tick_phase_seconds histogram\n"));
+        assertTrue(scrape.contains("dungeonmania_tick_phase_seconds_bucket{phase=\"move_enemy\",le=\"+Inf\"} "));
+        assertTrue(scrape.contains("dungeonmania_tick_phase_seconds_count{phase=\"create_response\"} "));
+        assertTrue(scrape.contains("dungeonmania_tick_entities_sum "));
+        assertTrue(scrape.contains("# TYPE dungeonmania_battles_total counter\n"));
+        assertTrue(scrape.contains("dungeonmania_path_cells_settled_total "));
+    }
+}
@@ -15,12 +15,15 @@ import static dungeonmania.TestUtils.countEntityOfType;
 import static dungeonmania.TestUtils.getValueFromConfigFile;
 
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import dungeonmania.response.models.BattleResponse;
 import dungeonmania.response.models.DungeonResponse;
@@ -31,7 +34,13 @@ import dungeonmania.util.Position;
 
 
 public class PersistenceTests {
-    
+    private Path savesDirectory;
+
+    @BeforeEach
+    public void useTemporarySaves() throws IOException {
+        savesDirectory = TestUtils.useTemporarySaves();
+    }
+
     @Test
     @DisplayName("Saving a game saves it to a file")
     public void saveGame() {
@@ -40,10 +49,12 @@ public class PersistenceTests {
         String saveName = "hi";
         dmc.saveGame(saveName);
 
-        String path = "src/main/java/dungeonmania/saves/" + saveName + ".ser";
-    
-        File f = new File(path);
-        assertTrue(f.exists());
+        assertTrue(Files.exists(savesDirectory.resolve("saves.store")));
+        assertTrue(dmc.allGames().contains(saveName));
+
+        SaveStore.getDefault().flush();
+        assertEquals(SaveStore.Status.SAVED, dmc.getSaveStatus(saveName));
+        assertThrows(IllegalArgumentException.class, () -> dmc.getSaveStatus("neverSaved"));
     }
 
     @Test
@@ -0,0 +1,36 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.util.ResourceCatalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ResourceCatalogTests {
+    @Test
+    @DisplayName("Test the dungeons and configs are listed once, and listed again after a refresh")
+    public void testListingsAreKept() {
+        List<String> dungeons = DungeonManiaController.dungeons();
+        assertTrue(dungeons.contains("d_exitTest_basicExit"));
+        assertTrue(DungeonManiaController.configs().contains("c_systemTest_playerWins"));
+        assertSame(dungeons, DungeonManiaController.dungeons());
+
+        List<String> sorted = new ArrayList<>(dungeons);
+        Collections.sort(sorted);
+        assertEquals(sorted, dungeons);
+        assertThrows(UnsupportedOperationException.class, () -> dungeons.add("d_notADungeon"));
+
+        ResourceCatalog.refresh();
+        assertNotSame(dungeons, DungeonManiaController.dungeons());
+        assertEquals(dungeons, DungeonManiaController.dungeons());
+    }
+}
@@ -0,0 +1,137 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.response.JsonResponses;
+import dungeonmania.response.models.DungeonResponse;
+import dungeonmania.response.models.EntityResponse;
+import dungeonmania.util.Direction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class SaveFileTests {
+    @BeforeEach
+    public void useTemporarySaves() throws IOException {
+        TestUtils.useTemporarySaves();
+    }
+
+    // Entities spawned during a game get fresh ids, so two copies of a game are compared by what is where.
+    static List<String> layout(DungeonResponse res) {
+        List<String> layout = new ArrayList<>();
+        for (EntityResponse entity : res.getEntities()) {
+            layout.add(entity.getType() + "@" + entity.getPosition().getX() + "," + entity.getPosition().getY());
+        }
+        res.getInventory().forEach(item -> layout.add(item.getType()));
+        Collections.sort(layout);
+        layout.add(res.getGoals());
+        layout.add(Integer.toString(res.getBattles().size()));
+        return layout;
+    }
+
+    private static DungeonManiaController copy(DungeonManiaController dmc) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SaveFile.write(dmc, out);
+        return SaveFile.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static void assertLoadedGameCarriesOn(String dungeonName, String configName) throws IOException {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame(dungeonName, configName, 5L);
+        Random moves = new Random(5);
+        for (int tick = 0; tick < 10 && !dmc.isGameOver(); tick++) {
+            dmc.tick(Direction.values()[moves.nextInt(4)]);
+        }
+
+        DungeonManiaController loaded = copy(dmc);
+        assertEquals(JsonResponses.toJson(dmc.getDungeonResponseModel()), JsonResponses.toJson(loaded.getDungeonResponseModel()));
+
+        // the random choices after loading are the ones the saved game would have made
+        for (int tick = 0; tick < 20 && !dmc.isGameOver(); tick++) {
+            Direction move = Direction.values()[moves.nextInt(4)];
+            assertEquals(layout(dmc.tick(move)), layout(loaded.tick(move)));
+        }
+    }
+
+    @Test
+    @DisplayName("Test a loaded game is the game that was saved, and plays on the same")
+    public void testRoundTrip() throws IOException {
+        assertLoadedGameCarriesOn("d_systemTest_multipleEntities", "c_systemTest_playerWins");
+        assertLoadedGameCarriesOn("d_spiderTest_spawnEveryTick", "c_spiderTest_spawnEveryTick");
+        assertLoadedGameCarriesOn("d_zombieTest_spawnEveryTick", "c_zombieTest_spawnEveryTick");
+        assertLoadedGameCarriesOn("d_mercenaryTest_multipleFollowPlayer", "c_mercenaryTest_followPlayer");
+        assertLoadedGameCarriesOn("d_swampTileTest_hydraAndAssassin", "c_swampTileTest_movementFactor5");
+        assertLoadedGameCarriesOn("d_DoorsKeysTest_useKeyWalkThroughOpenDoor", "c_DoorsKeysTest_useKeyWalkThroughOpenDoor");
+        assertLoadedGameCarriesOn("d_complexGoalsTest_nestedANDThenORGoal", "c_complexGoalsTest_nested");
+    }
+
+    @Test
+    @DisplayName("Test an opened door, collected items and battles are saved")
+    public void testSavedState() {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_DoorsKeysTest_useKeyWalkThroughOpenDoor", "c_DoorsKeysTest_useKeyWalkThroughOpenDoor");
+        dmc.tick(Direction.RIGHT);
+        DungeonResponse saved = dmc.tick(Direction.RIGHT);
+        assertEquals(1, TestUtils.getEntities(saved, "door_open").size());
+
+        dmc.saveGame("saveFile_doors");
+        DungeonResponse loaded = new DungeonManiaController().loadGame("saveFile_doors");
+        assertEquals(JsonResponses.toJson(saved), JsonResponses.toJson(loaded));
+
+        dmc.newGame("d_battleTest_basicMercenary", "c_battleTests_basicMercenaryMercenaryDies");
+        saved = dmc.tick(Direction.RIGHT);
+        assertEquals(1, saved.getBattles().size());
+
+        dmc.saveGame("saveFile_battle");
+        loaded = new DungeonManiaController().loadGame("saveFile_battle");
+        assertEquals(JsonResponses.toJson(saved), JsonResponses.toJson(loaded));
+    }
+
+    @Test
+    @DisplayName("Test games saved as serialized controllers still load")
+    public void testSerializedSavesLoad() throws IOException, ClassNotFoundException {
+        DungeonManiaController dmc = new DungeonManiaController();
+        DungeonResponse saved = dmc.newGame("d_treasureTest_basicSpawn", "c_treasureTest_basicSpawn");
+
+        Path directory = Files.createTempDirectory("saves");
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(directory.resolve("serialized.ser").toFile()))) {
+            out.writeObject(new Save(dmc));
+        }
+
+        SaveStore store = SaveStore.open(directory);
+        assertEquals(List.of("serialized"), store.names());
+        DungeonManiaController loaded = store.load("serialized");
+        assertEquals(saved.getEntities(), loaded.getDungeonResponseModel().getEntities());
+    }
+
+    @Test
+    @DisplayName("Test a save is smaller than the serialized controller")
+    public void testSaveIsCompact() throws IOException {
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_systemTest_multipleEntities", "c_systemTest_playerWins");
+        dmc.tick(Direction.DOWN);
+
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject(new Save(dmc));
+        }
+
+        ByteArrayOutputStream saved = new ByteArrayOutputStream();
+        SaveFile.write(dmc, saved);
+        assertTrue(saved.size() * 4 < serialized.size(), saved.size() + " bytes saved, " + serialized.size() + " serialized");
+    }
+}
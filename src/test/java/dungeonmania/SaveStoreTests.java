@@ -0,0 +1,192 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.response.JsonResponses;
+import dungeonmania.util.Direction;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class SaveStoreTests {
+    private static String json(DungeonManiaController dmc) {
+        return JsonResponses.toJson(dmc.getDungeonResponseModel());
+    }
+
+    @Test
+    @DisplayName("Test saves are listed and loaded from the store, including after it is opened again")
+    public void testSaveAndReopen() throws IOException, ClassNotFoundException {
+        Path directory = Files.createTempDirectory("saves");
+        SaveStore store = SaveStore.open(directory);
+
+        DungeonManiaController first = new DungeonManiaController();
+        first.newGame("d_systemTest_multipleEntities", "c_systemTest_playerWins");
+        DungeonManiaController second = new DungeonManiaController();
+        second.newGame("d_battleTest_basicMercenary", "c_battleTests_basicMercenaryMercenaryDies");
+        second.tick(Direction.RIGHT);
+
+        store.save("first", first);
+        store.save("second", second);
+        assertEquals(List.of("first", "second"), store.names());
+        assertEquals(json(first), json(store.load("first")));
+        assertEquals(json(second), json(store.load("second")));
+        assertNull(store.load("third"));
+
+        // saving again replaces the save
+        first.tick(Direction.DOWN);
+        store.save("first", first);
+        assertEquals(json(first), json(store.load("first")));
+
+        store.remove("second");
+        assertFalse(store.contains("second"));
+        store.close();
+
+        SaveStore reopened = SaveStore.open(directory);
+        assertEquals(List.of("first"), reopened.names());
+        assertEquals(json(first), json(reopened.load("first")));
+    }
+
+    @Test
+    @DisplayName("Test a save cut off part way through being written is dropped, and the saves before it kept")
+    public void testTornWrite() throws IOException, ClassNotFoundException {
+        Path directory = Files.createTempDirectory("saves");
+        SaveStore store = SaveStore.open(directory);
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_systemTest_multipleEntities", "c_systemTest_playerWins");
+        store.save("kept", dmc);
+        store.flush();
+        long kept = store.size();
+
+        store.save("torn", dmc);
+        store.close();
+        Path file = directory.resolve("saves.store");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(store.size() - 10);
+        }
+
+        SaveStore reopened = SaveStore.open(directory);
+        assertEquals(List.of("kept"), reopened.names());
+        assertEquals(kept, reopened.size());
+        assertEquals(json(dmc), json(reopened.load("kept")));
+
+        // new saves go after the last whole one
+        reopened.save("after", dmc);
+        reopened.close();
+        assertEquals(List.of("kept", "after"), SaveStore.open(directory).names());
+    }
+
+    @Test
+    @DisplayName("Test the store is compacted once it is mostly replaced saves")
+    public void testCompaction() throws IOException, ClassNotFoundException {
+        Path directory = Files.createTempDirectory("saves");
+        SaveStore store = SaveStore.open(directory);
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_systemTest_multipleEntities", "c_systemTest_playerWins");
+        store.save("other", dmc);
+
+        long largest = 0;
+        for (int i = 0; i < 2000; i++) {
+            store.save("autosave", dmc);
+            store.flush();
+            largest = Math.max(largest, store.size());
+        }
+
+        assertTrue(store.size() < largest);
+        assertTrue(largest < 4 << 20);
+        assertEquals(List.of("other", "autosave"), store.names());
+        assertEquals(json(dmc), json(store.load("autosave")));
+        store.close();
+        assertEquals(json(dmc), json(SaveStore.open(directory).load("other")));
+    }
+
+    @Test
+    @DisplayName("Test a save returns before it is written, can be loaded meanwhile, and says once it is on disk")
+    public void testSaveInBackground() throws IOException, ClassNotFoundException {
+        Path directory = Files.createTempDirectory("saves");
+        SaveStore store = SaveStore.open(directory);
+        DungeonManiaController dmc = new DungeonManiaController();
+        dmc.newGame("d_systemTest_multipleEntities", "c_systemTest_playerWins");
+        assertNull(store.getStatus("background"));
+
+        store.save("background", dmc);
+        assertTrue(store.contains("background"));
+        assertEquals(json(dmc), json(store.load("background")));
+
+        // the game was copied when it was saved, so carrying on playing doesn't change the save
+        String saved = json(dmc);
+        dmc.tick(Direction.DOWN);
+        assertEquals(saved, json(store.load("background")));
+
+        store.flush();
+        assertEquals(SaveStore.Status.SAVED, store.getStatus("background"));
+        store.close();
+
+        SaveStore reopened = SaveStore.open(directory);
+        assertEquals(SaveStore.Status.SAVED, reopened.getStatus("background"));
+        assertEquals(saved, json(reopened.load("background")));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Test saves made and loaded while the store is being compacted are kept")
+    public void testSaveWhileCompacting() throws Exception {
+        Path directory = Files.createTempDirectory("saves");
+        SaveStore store = SaveStore.open(directory);
+        DungeonManiaController replaced = new DungeonManiaController();
+        replaced.newGame("d_systemTest_multipleEntities", "c_systemTest_playerWins");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        List<String> kept = new ArrayList<>();
+        try {
+            // replacing one save over and over has the writer compact the file again and again
+            Future<?> replacing = executor.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    store.save("autosave", replaced);
+                    store.flush();
+                }
+                return null;
+            });
+
+            DungeonManiaController dmc = new DungeonManiaController();
+            dmc.newGame("d_systemTest_multipleEntities", "c_systemTest_playerWins");
+            while (!replacing.isDone()) {
+                String name = "kept" + kept.size();
+                store.save(name, dmc);
+                kept.add(json(dmc));
+                assertEquals(kept.get(kept.size() - 1), json(store.load(name)));
+                dmc.tick(Direction.values()[kept.size() % 4]);
+            }
+            replacing.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int i = 0; i < kept.size(); i++) {
+            assertEquals(kept.get(i), json(store.load("kept" + i)));
+        }
+        store.close();
+
+        SaveStore reopened = SaveStore.open(directory);
+        assertEquals(kept.size() + 1, reopened.names().size());
+        for (int i = 0; i < kept.size(); i++) {
+            assertEquals(kept.get(i), json(reopened.load("kept" + i)));
+        }
+        assertEquals(json(replaced), json(reopened.load("autosave")));
+        reopened.close();
+    }
+}
@@ -0,0 +1,183 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.Metrics.TickMetrics;
+import dungeonmania.util.Direction;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SessionRegistryTests {
+    @Test
+    @DisplayName("Test each session has a game of its own, and a session without an id plays the default session's")
+    public void testSessionsHaveTheirOwnGames() {
+        SessionRegistry sessions = new SessionRegistry();
+        DungeonManiaController first = sessions.call("first", dmc -> dmc);
+
+        assertSame(first, sessions.call("first", dmc -> dmc));
+        assertNotSame(first, sessions.call("second", dmc -> dmc));
+        assertSame(sessions.call(null, dmc -> dmc), sessions.call(SessionRegistry.DEFAULT_SESSION, dmc -> dmc));
+        assertEquals(3, sessions.size());
+    }
+
+    @Test
+    @DisplayName("Test a call on one session doesn't wait for a call on another, but does for one on the same session")
+    public void testSessionsDontWaitOnEachOther() throws Exception {
+        SessionRegistry sessions = new SessionRegistry();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<?> slow = executor.submit(() -> sessions.call("slow", dmc -> {
+                started.countDown();
+                try {
+                    return release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // another session's call goes ahead while the slow one holds its session
+            assertTrue(executor.submit(() -> sessions.call("other", dmc -> true)).get(10, TimeUnit.SECONDS));
+
+            AtomicBoolean ran = new AtomicBoolean();
+            Future<?> same = executor.submit(() -> sessions.call("slow", dmc -> ran.getAndSet(true)));
+            Thread.sleep(100);
+            assertFalse(ran.get());
+
+            release.countDown();
+            slow.get(10, TimeUnit.SECONDS);
+            same.get(10, TimeUnit.SECONDS);
+            assertTrue(ran.get());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static SessionRegistry passivating(int maxResident, Duration idleTimeout, Duration expireAfter)
+            throws IOException {
+        return new SessionRegistry(SaveStore.open(Files.createTempDirectory("sessions")), maxResident, idleTimeout,
+            expireAfter);
+    }
+
+    @Test
+    @DisplayName("Test an idle session is passivated, and restored as it was on its next call")
+    public void testIdleSessionIsRestored() throws IOException {
+        SessionRegistry sessions = passivating(10, Duration.ZERO, null);
+        DungeonManiaController first = sessions.call("first", dmc -> {
+            dmc.newGame("d_systemTest_multipleEntities", "c_systemTest_playerWins");
+            dmc.tick(Direction.DOWN);
+            return dmc;
+        });
+        List<String> before = SaveFileTests.layout(first.getDungeonResponseModel());
+        assertEquals(1, sessions.getResidentCount());
+
+        sessions.evictIdle();
+        assertEquals(0, sessions.getResidentCount());
+        assertEquals(1, sessions.getPassivatedCount());
+        assertEquals(1, sessions.size());
+
+        DungeonManiaController restored = sessions.call("first", dmc -> dmc);
+        assertNotSame(first, restored);
+        assertEquals(before, SaveFileTests.layout(restored.getDungeonResponseModel()));
+        assertEquals(1, sessions.getResidentCount());
+        assertEquals(0, sessions.getPassivatedCount());
+
+        // it plays on from where it was
+        first.tick(Direction.RIGHT);
+        restored.tick(Direction.RIGHT);
+        assertEquals(SaveFileTests.layout(first.getDungeonResponseModel()),
+            SaveFileTests.layout(restored.getDungeonResponseModel()));
+    }
+
+    @Test
+    @DisplayName("Test only so many sessions are resident, the least recently used being passivated past that")
+    public void testLeastRecentlyUsedIsPassivated() throws IOException {
+        SessionRegistry sessions = passivating(2, null, null);
+        DungeonManiaController first = sessions.call("first", dmc -> {
+            dmc.newGame("d_exitTest_basicExit", "c_systemTest_playerWins");
+            return dmc;
+        });
+        DungeonManiaController second = sessions.call("second", dmc -> {
+            dmc.newGame("d_exitTest_basicExit", "c_systemTest_playerWins");
+            return dmc;
+        });
+        sessions.call("first", dmc -> dmc);
+
+        sessions.call("third", dmc -> {
+            dmc.newGame("d_exitTest_basicExit", "c_systemTest_playerWins");
+            return dmc;
+        });
+        assertEquals(2, sessions.getResidentCount());
+        assertEquals(1, sessions.getPassivatedCount());
+
+        // second was used least recently
+        assertSame(first, sessions.call("first", dmc -> dmc));
+        assertNotSame(second, sessions.call("second", dmc -> dmc));
+        assertEquals(2, sessions.getResidentCount());
+        assertEquals(1, sessions.getPassivatedCount());
+    }
+
+    @Test
+    @DisplayName("Test an idle session without a game is dropped rather than passivated, and one idle too long expires")
+    public void testIdleSessionsAreDropped() throws IOException {
+        SessionRegistry sessions = passivating(10, Duration.ZERO, Duration.ZERO);
+        sessions.call("empty", dmc -> dmc);
+        sessions.call("playing", dmc -> {
+            dmc.newGame("d_exitTest_basicExit", "c_systemTest_playerWins");
+            return dmc;
+        });
+
+        sessions.evictIdle();
+        assertEquals(0, sessions.size());
+        assertEquals(0, sessions.getResidentCount());
+        assertEquals(0, sessions.getPassivatedCount());
+
+        // a dropped session starts again
+        assertNull(sessions.call("playing", dmc -> dmc.getDungeonId()));
+        assertEquals(1, sessions.size());
+    }
+
+    @Test
+    @DisplayName("Test the resident and passivated sessions are counted in the metrics")
+    public void testSessionsAreCounted() throws IOException {
+        long resident = TickMetrics.getResidentSessions();
+        long passivated = TickMetrics.getPassivatedSessions();
+
+        SessionRegistry sessions = passivating(10, Duration.ZERO, null);
+        sessions.call("first", dmc -> {
+            dmc.newGame("d_exitTest_basicExit", "c_systemTest_playerWins");
+            return dmc;
+        });
+        assertEquals(resident + 1, TickMetrics.getResidentSessions());
+
+        sessions.evictIdle();
+        assertEquals(resident, TickMetrics.getResidentSessions());
+        assertEquals(passivated + 1, TickMetrics.getPassivatedSessions());
+        assertTrue(TickMetrics.scrape().contains("dungeonmania_sessions{state=\"passivated\"}"));
+
+        sessions.call("first", dmc -> dmc);
+        assertEquals(resident + 1, TickMetrics.getResidentSessions());
+        assertEquals(passivated, TickMetrics.getPassivatedSessions());
+    }
+}
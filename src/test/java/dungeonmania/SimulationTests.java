@@ -0,0 +1,124 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static dungeonmania.TestUtils.getEntities;
+import static dungeonmania.TestUtils.getGoals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.Simulation.MovePolicy;
+import dungeonmania.Simulation.ParallelSimulator;
+import dungeonmania.Simulation.SimulationReport;
+import dungeonmania.Simulation.SimulationResult;
+import dungeonmania.Simulation.SimulationResult.Outcome;
+import dungeonmania.Simulation.Simulator;
+import dungeonmania.response.models.DungeonResponse;
+import dungeonmania.util.Direction;
+import dungeonmania.util.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SimulationTests {
+    @Test
+    @DisplayName("Test a headless game ends as soon as the player reaches the exit")
+    public void testSimulationWins() {
+        //  player  -  exit
+        SimulationResult result = Simulator.run("d_exitTest_basicExit", "c_playerTest_basicMovement", 1L,
+            MovePolicy.scripted(Arrays.asList(Direction.RIGHT, Direction.RIGHT, Direction.RIGHT)), 10);
+
+        assertEquals(Outcome.WON, result.getOutcome());
+        assertEquals(2, result.getTickCount());
+        assertEquals("", result.getGoals());
+    }
+
+    @Test
+    @DisplayName("Test a headless game ends when the player dies in battle")
+    public void testSimulationDies() {
+        SimulationResult result = Simulator.run("d_battleTest_basicZombie", "c_battleTests_basicZombieZombieWins", 1L,
+            MovePolicy.scripted(Arrays.asList(Direction.RIGHT, Direction.RIGHT)), 10);
+
+        assertEquals(Outcome.DIED, result.getOutcome());
+        assertEquals(1, result.getTickCount());
+    }
+
+    @Test
+    @DisplayName("Test a headless game ends in the same state as the same game played with responses")
+    public void testSimulationMatchesTicks() {
+        List<Direction> moves = Arrays.asList(Direction.UP, Direction.RIGHT, Direction.DOWN);
+
+        DungeonManiaController dmc = new DungeonManiaController();
+        DungeonResponse res = dmc.newGame("d_exitTest_basicExit", "c_playerTest_basicMovement");
+        for (Direction move : moves) {
+            res = dmc.tick(move);
+        }
+
+        SimulationResult result = Simulator.run("d_exitTest_basicExit", "c_playerTest_basicMovement", 1L,
+            MovePolicy.scripted(moves), 10);
+
+        assertEquals(Outcome.UNFINISHED, result.getOutcome());
+        assertEquals(3, result.getTickCount());
+        assertEquals(getGoals(res), result.getGoals());
+    }
+
+    @Test
+    @DisplayName("Test a sweep plays every dungeon with every config and stops at the tick limit")
+    public void testSimulationSweep() {
+        List<SimulationResult> results = Simulator.sweep(
+            Arrays.asList("d_exitTest_basicExit", "d_battleTest_basicZombie"),
+            Arrays.asList("c_playerTest_basicMovement", "c_battleTests_basicZombieZombieWins"),
+            1, MovePolicy::random, 20);
+
+        assertEquals(4, results.size());
+        for (SimulationResult result : results) {
+            assertTrue(result.getTickCount() <= 20);
+            assertTrue(result.getOutcome() != Outcome.UNFINISHED || result.getTickCount() == 20);
+        }
+    }
+
+    @Test
+    @DisplayName("Test a parallel sweep plays the same games whatever the number of threads")
+    public void testParallelSweepIsReproducible() {
+        List<String> dungeons = Arrays.asList("d_exitTest_basicExit", "d_zombieTest_spawnEveryTick");
+        List<String> configs = Arrays.asList("c_playerTest_basicMovement", "c_zombieTest_spawnEveryTick");
+
+        SimulationReport serial = new ParallelSimulator(1).sweep(dungeons, configs, 8, 42, MovePolicy::random, 30);
+        SimulationReport parallel = new ParallelSimulator(4).sweep(dungeons, configs, 8, 42, MovePolicy::random, 30);
+
+        assertEquals(32, parallel.getTotal().getGames());
+        assertEquals(8, parallel.getSummary("d_exitTest_basicExit", "c_playerTest_basicMovement").getGames());
+        for (int i = 0; i < serial.getResults().size(); i++) {
+            SimulationResult expected = serial.getResults().get(i);
+            SimulationResult actual = parallel.getResults().get(i);
+            assertEquals(expected.getDungeonName(), actual.getDungeonName());
+            assertEquals(expected.getSeed(), actual.getSeed());
+            assertEquals(expected.getOutcome(), actual.getOutcome());
+            assertEquals(expected.getTickCount(), actual.getTickCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Test a game started with the same seed makes the same random choices")
+    public void testSeededGameReplays() {
+        List<List<Position>> zombieMoves = new ArrayList<>();
+        for (int game = 0; game < 2; game++) {
+            DungeonManiaController dmc = new DungeonManiaController();
+            DungeonResponse res = dmc.newGame("d_zombieTest_spawnEveryTick", "c_zombieTest_spawnEveryTick", 2022L);
+            assertEquals(2022L, dmc.getSeed());
+
+            List<Position> moves = new ArrayList<>();
+            for (int tick = 0; tick < 10; tick++) {
+                res = dmc.tick(Direction.UP);
+                getEntities(res, "zombie_toast").forEach(zombie -> moves.add(zombie.getPosition()));
+            }
+            zombieMoves.add(moves);
+        }
+
+        assertTrue(zombieMoves.get(0).size() > 10);
+        assertEquals(zombieMoves.get(0), zombieMoves.get(1));
+    }
+}
@@ -0,0 +1,62 @@
+package dungeonmania;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dungeonmania.response.models.DungeonResponse;
+import dungeonmania.util.Direction;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TemplateCacheTests {
+    @Test
+    @DisplayName("Test games started in the same dungeon share its template, but not its goals")
+    public void testTemplatesAreShared() {
+        assertSame(TemplateCache.getDungeon("d_exitTest_basicExit"), TemplateCache.getDungeon("d_exitTest_basicExit"));
+        assertSame(TemplateCache.getConfig("c_systemTest_playerWins"), TemplateCache.getConfig("c_systemTest_playerWins"));
+
+        DungeonManiaController finished = new DungeonManiaController();
+        DungeonResponse started = finished.newGame("d_exitTest_basicExit", "c_systemTest_playerWins");
+        String goals = started.getGoals();
+        finished.tick(Direction.RIGHT);
+        assertEquals("", finished.tick(Direction.RIGHT).getGoals());
+
+        // the first game completing its goals doesn't complete them for the next game started in the dungeon
+        assertEquals(goals, new DungeonManiaController().newGame("d_exitTest_basicExit", "c_systemTest_playerWins").getGoals());
+        assertEquals(started.getEntities().size(), TemplateCache.getDungeon("d_exitTest_basicExit").size());
+    }
+
+    @Test
+    @DisplayName("Test the least recently used templates are dropped once there are too many, and dropped ones read again")
+    public void testEviction() {
+        AtomicInteger parses = new AtomicInteger();
+        TemplateCache.Cache<String> cache = new TemplateCache.Cache<>(2, name -> name + parses.incrementAndGet());
+
+        String first = cache.get("first");
+        cache.get("second");
+        assertSame(first, cache.get("first"));
+        cache.get("third");
+        assertEquals(2, cache.size());
+        assertEquals(3, parses.get());
+
+        // "second" was used least recently, so it was the one dropped
+        assertSame(first, cache.get("first"));
+        cache.get("second");
+        assertEquals(4, parses.get());
+
+        cache.remove("first");
+        assertNotSame(first, cache.get("first"));
+    }
+
+    @Test
+    @DisplayName("Test a dungeon or config that doesn't exist can't be started")
+    public void testMissingTemplates() {
+        assertThrows(Exception.class, () -> TemplateCache.getDungeon("d_noSuchDungeon"));
+        assertThrows(Exception.class, () -> TemplateCache.getConfig("c_noSuchConfig"));
+    }
+}
@@ -1,6 +1,8 @@
 package dungeonmania;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -14,6 +16,14 @@ import dungeonmania.response.models.ItemResponse;
 import dungeonmania.util.FileLoader;
 
 public class TestUtils {
+    // Saves games played by controllers into a new temporary directory rather than the saves directory.
+    // @returns the directory
+    public static Path useTemporarySaves() throws IOException {
+        Path directory = Files.createTempDirectory("saves");
+        SaveStore.setDefault(SaveStore.open(directory));
+        return directory;
+    }
+
     public static Stream<EntityResponse> getEntitiesStream(DungeonResponse res, String type) {
         if (type.equals("zombie_toast")){
             return res.getEntities().stream()